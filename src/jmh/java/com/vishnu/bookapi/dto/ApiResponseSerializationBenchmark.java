@@ -0,0 +1,46 @@
+package com.vishnu.bookapi.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int books;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<BookResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring MVC's message converter starts from
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<BookResponseDto> page = LongStream.rangeClosed(1, books)
+                .mapToObj(id -> new BookResponseDto(id, "Title " + id, "Author " + (id % 97),
+                        "Description of book " + id + ", long enough to look like a real blurb.", id % 5))
+                .toList();
+        response = ApiResponse.<List<BookResponseDto>>builder()
+                .success(true)
+                .message("Books retrieved successfully")
+                .data(page)
+                .nextCursor("MjA")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,72 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class JwtRequestFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean tokenCacheEnabled;
+
+    @Param({"false", "true"})
+    private boolean userLookupEnabled;
+
+    private JwtRequestFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> {
+    };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.newJwtUtil();
+        UserDetails admin = new User("admin", "encodedPassword",
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(mock(RevokedTokenRepository.class), 10_000,
+                0.01, Duration.ofSeconds(30), new SimpleMeterRegistry(), Clock.systemUTC());
+        filter = new JwtRequestFilter(jwtUtil, userDetailsService,
+                new VerifiedTokenCache(tokenCacheEnabled, 10_000, new SimpleMeterRegistry()), tokenRevocationList,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "userLookupEnabled", userLookupEnabled);
+        request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(admin));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal() throws Exception {
+        try {
+            filter.doFilterInternal(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            // The filter skips requests that are already authenticated
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
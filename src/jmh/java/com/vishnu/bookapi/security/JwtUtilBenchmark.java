@@ -0,0 +1,54 @@
+package com.vishnu.bookapi.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails admin;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        admin = new User("admin", "encodedPassword", AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+        token = jwtUtil.generateToken(admin);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(admin);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, admin);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+        // Long enough that no token expires during a run
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", TimeUnit.HOURS.toMillis(2));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,32 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.entity.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class BookMappingBenchmark {
+
+    private BookServiceImpl bookService;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        // mapToDto touches none of the collaborators
+        bookService = new BookServiceImpl(null, null, null, null, null, null);
+        book = new Book(42L, "The Pragmatic Programmer", "Andrew Hunt",
+                "From journeyman to master, a guide to the craft of software development.", 3L);
+    }
+
+    @Benchmark
+    public BookResponseDto mapToDto() {
+        return bookService.mapToDto(book);
+    }
+}
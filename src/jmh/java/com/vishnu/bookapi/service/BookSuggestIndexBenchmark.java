@@ -0,0 +1,90 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 suggestion lookups on a catalog of {@code books} titles averaging 25 characters, and the heap the index
+ * holds for it. The footprint is measured with JOL once per fork, after the index is built, and printed with the
+ * fork's output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Djdk.attach.allowAttachSelf=true",
+        "-XX:+EnableDynamicAgentLoading"})
+public class BookSuggestIndexBenchmark {
+
+    private static final int PREFIXES = 1024;
+
+    @Param("1000000")
+    private int books;
+
+    @Param({"100000", "1000000"})
+    private int authors;
+
+    private BookSuggestIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new BookSuggestIndex(null, null);
+        Random random = new Random(42);
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < books; i++) {
+            String title = title(random);
+            index.onBookChanged(BookChangedEvent.created(
+                    new BookResponseDto((long) i, title, author(i % authors), null, 0L)));
+            if (i % (books / PREFIXES) == 0 && i / (books / PREFIXES) < PREFIXES) {
+                prefixes[i / (books / PREFIXES)] = title.substring(0, 3);
+            }
+        }
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+        System.out.printf("%nSuggestion index: %d books, %d authors, %d entries, %.0f MB, %.0f bytes per book%n",
+                books, authors, index.size(), bytes / 1e6, (double) bytes / books);
+    }
+
+    @Benchmark
+    public List<BookSuggestionDto> suggestTop10() {
+        return index.suggest(prefixes[next++ & (PREFIXES - 1)], 10);
+    }
+
+    /**
+     * Three or four capitalized words of five to eight letters, 25 characters on average.
+     */
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        int words = 3 + random.nextInt(2);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                title.append(' ');
+            }
+            title.append(word(random));
+        }
+        return title.toString();
+    }
+
+    private static String author(int author) {
+        Random random = new Random(author);
+        return word(random) + " " + word(random);
+    }
+
+    private static String word(Random random) {
+        int length = 5 + random.nextInt(4);
+        StringBuilder word = new StringBuilder(length);
+        word.append((char) ('A' + random.nextInt(26)));
+        for (int i = 1; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
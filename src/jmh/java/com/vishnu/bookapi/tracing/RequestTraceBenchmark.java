@@ -0,0 +1,36 @@
+package com.vishnu.bookapi.tracing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class RequestTraceBenchmark {
+
+    private final SlowTraceBuffer slowTraceBuffer = new SlowTraceBuffer(50);
+
+    /**
+     * Everything tracing adds to a GET /api/books/{id}: the trace, the spans the filter and aspects record, the
+     * header and the slow-trace admission check.
+     */
+    @Benchmark
+    public String tracedRequest() {
+        RequestTrace trace = RequestTrace.begin();
+        RequestTrace.record(RequestTrace.Span.JWT, System.nanoTime());
+        trace.controllerEntered();
+        RequestTrace.current().add(RequestTrace.Span.AUTHZ, System.nanoTime() - trace.controllerEntryNanos());
+        RequestTrace.record(RequestTrace.Span.DB, System.nanoTime());
+        RequestTrace.record(RequestTrace.Span.SERVICE, System.nanoTime());
+        RequestTrace.record(RequestTrace.Span.HANDLER, System.nanoTime());
+        String header = trace.serverTiming();
+        trace.writeStarted();
+        trace.finish();
+        slowTraceBuffer.offer(trace, "GET", "/api/books/42", 200);
+        return header;
+    }
+}
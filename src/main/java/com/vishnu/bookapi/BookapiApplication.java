@@ -2,8 +2,13 @@ package com.vishnu.bookapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * The servlet (Spring MVC and JPA) application. R2DBC is on the classpath for the WebFlux variant in
+ * {@code com.vishnu.reactivebookapi}, which has its own main class, so its connection factory is left out here.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class BookapiApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,51 @@
+package com.vishnu.bookapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Async requests keep the default timeout unless their handler calls {@link #useExportTimeout}, so only the catalog
+ * export may stream for as long as {@code book.export.timeout}.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private static final String EXPORT_TIMEOUT_ATTRIBUTE = AsyncConfig.class.getName() + ".exportTimeout";
+
+    private final Duration exportTimeout;
+
+    public AsyncConfig(@Value("${book.export.timeout:30m}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    /**
+     * Gives the async processing this request starts the export timeout instead of the default.
+     */
+    public static void useExportTimeout(WebRequest request) {
+        request.setAttribute(EXPORT_TIMEOUT_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Called before the request goes async, while its timeout can still be changed
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(EXPORT_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncRequest.setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.vishnu.bookapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enables the in-process book cache. Size and TTL come from {@code spring.cache.caffeine.spec};
+ * set {@code spring.cache.type=none} to switch caching off.
+ * The caching advice wraps the transactional one, so evictions happen after the write has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+    public static final String COALESCING_CACHE_RESOLVER = "coalescingCacheResolver";
+
+    /**
+     * Resolves caches wrapped in a {@link CoalescingCache}, for reads where many callers miss the same key at once.
+     * Also coalesces with caching switched off.
+     */
+    @Bean(COALESCING_CACHE_RESOLVER)
+    public CacheResolver coalescingCacheResolver(CacheManager cacheManager, MeterRegistry meterRegistry,
+                                                 @Value("${book.cache.coalescing.max-wait:2s}") Duration maxWait) {
+        Map<String, Cache> coalescingCaches = new ConcurrentHashMap<>();
+        return new SimpleCacheResolver(cacheManager) {
+            @Override
+            @NonNull
+            public Collection<? extends Cache> resolveCaches(@NonNull CacheOperationInvocationContext<?> context) {
+                return super.resolveCaches(context).stream()
+                        .map(cache -> coalescingCaches.computeIfAbsent(cache.getName(),
+                                name -> new CoalescingCache(cache, maxWait, meterRegistry)))
+                        .toList();
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.vishnu.bookapi.config;
+
+import com.vishnu.bookapi.exception.CacheLoadTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collapses concurrent misses for the same key into one load. The first caller loads through the wrapped cache; the
+ * others wait up to {@code maxWait} for its result instead of queueing on the cache's per-key lock, and all of them
+ * get the same value or the same exception. Hits go straight to the wrapped cache.
+ */
+class CoalescingCache implements Cache {
+
+    private final Cache delegate;
+    private final long maxWaitNanos;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    CoalescingCache(Cache delegate, Duration maxWait, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.loads = loadCounter("loaded", meterRegistry);
+        this.coalesced = loadCounter("coalesced", meterRegistry);
+        this.timedOut = loadCounter("timed-out", meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return load(key, valueLoader, flight);
+        }
+        coalesced.increment();
+        try {
+            return (T) leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            // The load's own exception, already wrapped the way the cache abstraction expects
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            throw new CacheLoadTimeoutException("Timed out waiting for a concurrent load of " + getName() + " " + key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader, CompletableFuture<Object> flight) {
+        loads.increment();
+        try {
+            // The wrapped cache still loads under its per-key lock, so a concurrent eviction cannot leave a stale entry
+            T value = delegate.get(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // Later misses start a fresh load, so a failed or since-evicted result is never handed out again
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private Counter loadCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("cache.coalesced.loads")
+                .description("Cache misses by whether they loaded, joined a concurrent load or gave up waiting")
+                .tag("cache", delegate.getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,15 +1,22 @@
 package com.vishnu.bookapi.config;
 
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.entity.CatalogState;
 import com.vishnu.bookapi.entity.Role;
 import com.vishnu.bookapi.entity.User;
 import com.vishnu.bookapi.repository.RoleRepository;
 import com.vishnu.bookapi.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.Set;
@@ -22,13 +29,18 @@ public class DataInitializer implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
     @Value("${ADMIN_PASSWORD}")
     private String adminPassword;
     @Value("${USER_PASSWORD}")
     private String userPassword;
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
+        seedBookSequence();
+        seedCatalogState();
         log.info("Initializing default roles and users...");
         Role adminRole = createRoleIfNotFound("ROLE_ADMIN");
         Role userRole = createRoleIfNotFound("ROLE_USER");
@@ -56,6 +68,42 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
 
+    /**
+     * On databases without sequences Hibernate keeps {@code book_seq} in a table, which {@code ddl-auto=update} creates
+     * at 1 even when books already exist, for example with ids from before the sequence. Raises it past the highest
+     * id, plus one allocation block because the pooled optimizer hands out the block ending at the value it reads.
+     * Only ever moves it forward, so instances already allocating from it are not affected.
+     */
+    private void seedBookSequence() {
+        if (entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().supportsSequences()) {
+            return;
+        }
+        long floor = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from books", Long.class)
+                + Book.ID_ALLOCATION_SIZE + 1;
+        if (jdbcTemplate.update("update book_seq set next_val = ? where next_val < ?", floor, floor) > 0) {
+            log.info("Moved book_seq to {} past the existing book ids", floor);
+        }
+    }
+
+    /**
+     * Creates the {@code catalog_state} row that {@code CatalogVersion} bumps on every catalog write. Another instance
+     * starting at the same time may insert it first.
+     */
+    private void seedCatalogState() {
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from catalog_state where id = ?", Integer.class,
+                CatalogState.ID);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("insert into catalog_state (id, version) values (?, 0)", CatalogState.ID);
+            log.info("Created the catalog_state row");
+        } catch (DuplicateKeyException ex) {
+            log.info("catalog_state row created by another instance");
+        }
+    }
+
     private Role createRoleIfNotFound(String roleName) {
         Optional<Role> roleOptional = roleRepository.findByName(roleName);
         if (roleOptional.isPresent()) {
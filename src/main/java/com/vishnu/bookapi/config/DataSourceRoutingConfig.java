@@ -0,0 +1,73 @@
+package com.vishnu.bookapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds read replicas when {@code datasource.replica.urls} is set. Read-only transactions then use a replica, and
+ * writes and everything else use the primary configured through {@code spring.datasource.*}. Replica pools copy the
+ * primary's Hikari settings and are opened read-only.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.urls")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                 @Value("${datasource.replica.urls}") List<String> urls,
+                                                 @Value("${datasource.replica.username:}") String username,
+                                                 @Value("${datasource.replica.password:}") String password,
+                                                 @Value("${datasource.replica.max-lag:1s}") Duration maxLag,
+                                                 @Value("${datasource.replica.read-your-writes:5s}") Duration readYourWrites,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.strip());
+            if (StringUtils.hasText(username)) {
+                replica.setUsername(username);
+                replica.setPassword(password);
+            }
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} replica(s); primary after writes for {} (same user {})",
+                replicas.size(), maxLag, readYourWrites);
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, new ReplicaReadPolicy(maxLag, readYourWrites));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
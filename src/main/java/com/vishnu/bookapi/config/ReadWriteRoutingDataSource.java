@@ -0,0 +1,78 @@
+package com.vishnu.bookapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas in turn and everything else to the primary. Must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's read-only
+ * flag is only set after the transaction manager asks for a connection.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaReadPolicy readPolicy;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaReadPolicy readPolicy) {
+        this.replicas = replicas;
+        this.readPolicy = readPolicy;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        if (!readPolicy.replicaAllowed()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private void trackWrite() {
+        String user = ReplicaReadPolicy.currentUser();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readPolicy.writeCommitted(user);
+            return;
+        }
+        // Once per transaction; the replica lag window starts when the write commits
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+                if (status == STATUS_COMMITTED) {
+                    readPolicy.writeCommitted(user);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.vishnu.bookapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a read-only transaction may use a replica. After any write commits, every read goes to the primary
+ * for {@code maxLag}, so the book cache and the catalog ETags never capture a replica that has not caught up yet.
+ * A user who wrote keeps reading from the primary for the longer {@code readYourWrites} window.
+ */
+class ReplicaReadPolicy {
+
+    private final long maxLagNanos;
+    private final AtomicLong primaryUntilNanos = new AtomicLong(System.nanoTime());
+    private final Cache<String, Boolean> pinnedUsers;
+
+    ReplicaReadPolicy(Duration maxLag, Duration readYourWrites) {
+        this.maxLagNanos = maxLag.toNanos();
+        this.pinnedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWrites)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    boolean replicaAllowed() {
+        if (System.nanoTime() - primaryUntilNanos.get() < 0) {
+            return false;
+        }
+        String user = currentUser();
+        return user == null || pinnedUsers.getIfPresent(user) == null;
+    }
+
+    /**
+     * Records a committed write by {@code user}, who may be {@code null} for background or unauthenticated work.
+     */
+    void writeCommitted(String user) {
+        long until = System.nanoTime() + maxLagNanos;
+        primaryUntilNanos.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+        if (user != null) {
+            pinnedUsers.put(user, Boolean.TRUE);
+        }
+    }
+
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -4,14 +4,17 @@ import com.vishnu.bookapi.dto.ApiResponse;
 import com.vishnu.bookapi.exception.JwtAuthenticationException;
 import com.vishnu.bookapi.security.CustomUserDetailsService;
 import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.LoginExecutor;
+import com.vishnu.bookapi.security.TokenRevocationList;
+import com.vishnu.bookapi.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.*;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,9 +26,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginExecutor loginExecutor;
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
 
 
     @Operation(
@@ -35,14 +39,16 @@ public class AuthenticationController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully authenticated. Tokens generated.",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials.", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials.", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many logins in progress. Retry after the Retry-After delay.", content = @Content)
     })
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AuthResponse>> createAuthenticationToken(@RequestBody AuthRequest authRequest) {
-        authenticationManager.authenticate(
+        // BCrypt runs on the bounded login pool rather than this request thread
+        Authentication authentication = loginExecutor.authenticate(
                 new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
         );
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getUsername());
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         final String accessToken = jwtUtil.generateToken(userDetails);
         final String refreshToken = jwtUtil.generateRefreshToken(userDetails);
         ApiResponse<AuthResponse> response = ApiResponse.<AuthResponse>builder()
@@ -60,24 +66,23 @@ public class AuthenticationController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Access token refreshed successfully.",
                     content = @Content(schema = @Schema(implementation = RefreshResponse.class))),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid refresh token.", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid or expired refresh token.", content = @Content)
     })
     @PostMapping("/refresh")
     public ResponseEntity<ApiResponse<RefreshResponse>> refreshToken(@RequestBody RefreshRequest refreshRequest) {
-        String username = jwtUtil.extractUsername(refreshRequest.getRefreshToken());
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        if (jwtUtil.validateToken(refreshRequest.getRefreshToken(), userDetails)) {
-            final String newAccessToken = jwtUtil.generateToken(userDetails);
-            RefreshResponse refreshTokenResponse = new RefreshResponse(newAccessToken);
-            ApiResponse<RefreshResponse> response = ApiResponse.<RefreshResponse>builder()
-                    .success(true)
-                    .data(refreshTokenResponse)
-                    .message("Token refreshed successfully")
-                    .build();
-            return ResponseEntity.ok(response);
-        } else {
-            throw new JwtAuthenticationException("Invalid refresh token");
+        VerifiedToken refreshToken = jwtUtil.parseToken(refreshRequest.getRefreshToken());
+        if (tokenRevocationList.isRevoked(refreshToken.id())) {
+            throw new JwtAuthenticationException("Token has been revoked");
         }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(refreshToken.username());
+        final String newAccessToken = jwtUtil.generateToken(userDetails);
+        RefreshResponse refreshTokenResponse = new RefreshResponse(newAccessToken);
+        ApiResponse<RefreshResponse> response = ApiResponse.<RefreshResponse>builder()
+                .success(true)
+                .data(refreshTokenResponse)
+                .message("Token refreshed successfully")
+                .build();
+        return ResponseEntity.ok(response);
     }
 
 
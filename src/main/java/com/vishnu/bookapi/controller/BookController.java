@@ -1,21 +1,45 @@
 package com.vishnu.bookapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vishnu.bookapi.config.AsyncConfig;
 import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.dto.BookImportResultDto;
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
 import com.vishnu.bookapi.dto.BookRequestDto;
 import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSearchResultDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
+import com.vishnu.bookapi.service.BookImportFormat;
+import com.vishnu.bookapi.service.BookImportService;
 import com.vishnu.bookapi.service.BookService;
+import com.vishnu.bookapi.service.BookSort;
+import com.vishnu.bookapi.service.CatalogSnapshots;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -25,6 +49,9 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final CatalogSnapshots catalogSnapshots;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Add a new book",
@@ -48,28 +75,91 @@ public class BookController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Bulk import books",
+            description = "Imports books from a streamed CSV (with a title,author,description header) or NDJSON upload. " +
+                    "Rows are validated like POST /api/books and inserted in batched transactions; invalid rows are " +
+                    "reported and skipped. Accessible only by users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import completed",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Malformed upload", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BookImportResultDto>> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        log.info("Admin importing books");
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BookImportResultDto result = bookImportService.importBooks(body, BookImportFormat.fromMediaType(contentType), charset);
+        ApiResponse<BookImportResultDto> response = ApiResponse.<BookImportResultDto>builder()
+                .success(true)
+                .data(result)
+                .message("Imported " + result.importedRows() + " of " + result.processedRows() + " rows")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Update an existing book",
-            description = "Updates a book's details by its ID. Accessible only by users with ADMIN role."
+            description = "Updates a book's details by its ID. Send the book's ETag in If-Match to update only if " +
+                    "nobody changed it since it was read. Accessible only by users with ADMIN role."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found", content = @Content),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Book changed since the If-Match ETag", content = @Content)
     })
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<BookResponseDto>> updateBook(@PathVariable Long id,
-                                                                   @Valid @RequestBody BookRequestDto bookRequestDto) {
+    public ResponseEntity<ApiResponse<BookResponseDto>> updateBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookRequestDto bookRequestDto,
+            @Parameter(description = "ETag of the version being replaced")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Admin updating book with id: {}", id);
-        BookResponseDto updatedBook = bookService.updateBook(id, bookRequestDto);
+        BookResponseDto updatedBook = bookService.updateBook(id, bookRequestDto, BookETags.parseIfMatch(ifMatch));
         ApiResponse<BookResponseDto> response = ApiResponse.<BookResponseDto>builder()
                 .success(true)
                 .data(updatedBook)
                 .message("Book updated successfully")
                 .build();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(BookETags.of(updatedBook)).body(response);
+    }
+
+    @Operation(
+            summary = "Partially update a book",
+            description = "Changes only the fields present in the request body; omitted or null fields keep their " +
+                    "current value, and a body without fields changes nothing. Send the book's ETag in If-Match to " +
+                    "change it only if nobody changed it since it was read. Accessible only by users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book updated successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Book changed since the If-Match ETag", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponse<BookResponseDto>> patchBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookPatchDto bookPatchDto,
+            @Parameter(description = "ETag of the version being changed")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Admin patching book with id: {}", id);
+        BookResponseDto updatedBook = bookService.patchBook(id, bookPatchDto, BookETags.parseIfMatch(ifMatch));
+        ApiResponse<BookResponseDto> response = ApiResponse.<BookResponseDto>builder()
+                .success(true)
+                .data(updatedBook)
+                .message("Book updated successfully")
+                .build();
+        return ResponseEntity.ok().eTag(BookETags.of(updatedBook)).body(response);
     }
 
     @Operation(
@@ -96,18 +186,26 @@ public class BookController {
 
     @Operation(
             summary = "Get a book",
-            description = "Fetches a book by its ID. Accessible by both ADMIN and USER roles."
+            description = "Fetches a book by its ID. The response carries the book's version as a strong ETag; " +
+                    "send it back in If-None-Match to get 304 Not Modified while the book is unchanged. " +
+                    "Accessible by both ADMIN and USER roles."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Book fetched successfully",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Book not modified", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Book not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Timed out waiting for a concurrent load of the book", content = @Content)
     })
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<BookResponseDto>> getBook(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<BookResponseDto>> getBook(@PathVariable Long id, WebRequest webRequest) {
         log.info("Fetching book with id: {}", id);
         BookResponseDto book = bookService.getBook(id);
+        // Answered from the cached book: no query and no serialization while the client's copy is current
+        if (webRequest.checkNotModified(BookETags.of(book))) {
+            return null;
+        }
         ApiResponse<BookResponseDto> response = ApiResponse.<BookResponseDto>builder()
                 .success(true)
                 .data(book)
@@ -117,23 +215,171 @@ public class BookController {
     }
 
     @Operation(
-            summary = "Get all books",
-            description = "Fetches all available books. Accessible by both ADMIN and USER roles."
+            summary = "Get books",
+            description = "Fetches one page of books ordered by ID, or filtered by author and title prefix and sorted by " +
+                    "id, title or author. Pass the returned nextCursor as 'after' with the same filters and sort to " +
+                    "fetch the following page. The ETag changes whenever any book is written, so If-None-Match " +
+                    "answers 304 without a query while the catalog is unchanged. Unfiltered first pages are served " +
+                    "from a precomputed snapshot, gzip-compressed when the client accepts it. Accessible by both " +
+                    "ADMIN and USER roles."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books fetched successfully",
-                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Catalog not modified", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content)
     })
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BookResponseDto>>> getAllBooks() {
-        log.info("Fetching all books");
-        List<BookResponseDto> books = bookService.getAllBooks();
+    public ResponseEntity<?> getAllBooks(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of books to return (1-100)")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Only books by exactly this author")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Only books whose title starts with this prefix")
+            @RequestParam(required = false) String titlePrefix,
+            @Parameter(description = "Sort field (id, title or author) and optional direction. Defaults to id, or to " +
+                    "title when only titlePrefix is given", example = "title,asc")
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        log.info("Fetching books page");
+        boolean unfiltered = author == null && titlePrefix == null && sort == null;
+        // Parsed up front so an unsupported sort is rejected before the conditional request check
+        BookSort bookSort = BookSort.parse(sort);
+        boolean snapshotPage = unfiltered && (after == null || after.isBlank());
+        // Only unfiltered first pages come precompressed; other pages are always sent as identity
+        boolean gzip = snapshotPage && acceptsGzip(acceptEncoding);
+        // Taken before the query, so the page can only be newer than its ETag claims, never staler
+        if (webRequest.checkNotModified(BookETags.ofCatalog(bookService.getCatalogVersion(), gzip))) {
+            return null;
+        }
+        if (snapshotPage) {
+            CatalogSnapshots.Snapshot snapshot = catalogSnapshots.firstPage(limit);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .eTag(BookETags.ofCatalog(snapshot.version(), gzip));
+            if (gzip) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+            }
+            return builder.body(snapshot.json());
+        }
+        BookPageDto page = unfiltered
+                ? bookService.getBooks(after, limit)
+                : bookService.findBooks(author, titlePrefix, bookSort, after, limit);
         ApiResponse<List<BookResponseDto>> response = ApiResponse.<List<BookResponseDto>>builder()
                 .success(true)
-                .data(books)
+                .data(page.books())
                 .message("Books fetched successfully")
+                .nextCursor(page.nextCursor())
                 .build();
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Search books",
+            description = "Full-text search over title, author and description, best match first. Title matches rank " +
+                    "above author matches, which rank above description matches. Accessible by both ADMIN and USER roles."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<BookSearchResultDto>> searchBooks(
+            @Parameter(description = "Search terms", example = "effective java")
+            @RequestParam String q,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching books");
+        BookSearchResultDto result = bookService.searchBooks(q, page, size);
+        ApiResponse<BookSearchResultDto> response = ApiResponse.<BookSearchResultDto>builder()
+                .success(true)
+                .data(result)
+                .message("Search completed successfully")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Suggest titles and authors",
+            description = "Type-ahead completions: titles and authors starting with the given prefix, in alphabetical " +
+                    "order. Case, accents and punctuation are ignored. Accessible by both ADMIN and USER roles."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Suggestions retrieved",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<BookSuggestionDto>>> suggestBooks(
+            @Parameter(description = "Beginning of a title or author", example = "effect")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-25)")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BookSuggestionDto> suggestions = bookService.suggestBooks(prefix, limit);
+        ApiResponse<List<BookSuggestionDto>> response = ApiResponse.<List<BookSuggestionDto>>builder()
+                .success(true)
+                .data(suggestions)
+                .message("Suggestions retrieved successfully")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Export all books",
+            description = "Streams the whole catalog as newline-delimited JSON, one book per line, ordered by ID. " +
+                    "The stream may run for book.export.timeout. Accessible by both ADMIN and USER roles."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Books streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BookResponseDto.class)))
+    })
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks(WebRequest webRequest) {
+        log.info("Exporting all books");
+        AsyncConfig.useExportTimeout(webRequest);
+        ObjectWriter writer = objectMapper.writerFor(BookResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                bookService.exportBooks(book -> writeLine(writer, generator, book));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 explicitly refuses it
+                return parts.length < 2 || !parts[1].strip().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, BookResponseDto book) {
+        try {
+            writer.writeValue(generator, book);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
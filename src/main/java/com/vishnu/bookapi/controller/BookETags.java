@@ -0,0 +1,43 @@
+package com.vishnu.bookapi.controller;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.exception.BookVersionMismatchException;
+
+/**
+ * The ETags of {@code /api/books}, shared by the servlet and reactive controllers so both stacks send and accept the
+ * same values. A book's ETag is its version; the listing's is the catalog version.
+ */
+public final class BookETags {
+
+    private BookETags() {
+    }
+
+    public static String of(BookResponseDto book) {
+        return Long.toString(book.version());
+    }
+
+    /**
+     * Gzip and identity bodies are different representations, so they carry different strong ETags.
+     */
+    public static String ofCatalog(String catalogVersion, boolean gzip) {
+        return gzip ? catalogVersion + "-gzip" : catalogVersion;
+    }
+
+    /**
+     * Reads the version a conditional update expects from a single strong If-Match ETag; {@code *} matches any version.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new BookVersionMismatchException("If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new BookVersionMismatchException("If-Match does not match any version of this book");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.vishnu.bookapi.controller;
+
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.dto.RequestTraceDto;
+import com.vishnu.bookapi.tracing.SlowTraceBuffer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+@Slf4j
+public class RequestTraceController {
+
+    private final SlowTraceBuffer slowTraceBuffer;
+
+    @Operation(
+            summary = "List the slowest request traces",
+            description = "Returns the slowest requests since startup or the last reset, slowest first, with the time " +
+                    "spent in JWT verification, user lookup, method security, the controller, BookService, " +
+                    "repository calls and response serialization. Accessible only by users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Traces retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RequestTraceDto>>> getSlowestTraces() {
+        ApiResponse<List<RequestTraceDto>> response = ApiResponse.<List<RequestTraceDto>>builder()
+                .success(true)
+                .data(slowTraceBuffer.slowest())
+                .message("Traces retrieved successfully")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Reset the slowest request traces",
+            description = "Discards the kept traces, for example after a deployment. Accessible only by users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Traces cleared",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<String>> clearTraces() {
+        log.info("Admin clearing the slowest request traces");
+        slowTraceBuffer.clear();
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(true)
+                .message("Traces cleared")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,89 @@
+package com.vishnu.bookapi.controller;
+
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.dto.RevokedTokenDto;
+import com.vishnu.bookapi.dto.TokenRevocationRequestDto;
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import com.vishnu.bookapi.exception.TokenNotRevocableException;
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.TokenRevocationList;
+import com.vishnu.bookapi.security.VerifiedToken;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/tokens")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationController {
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Operation(
+            summary = "Revoke a token",
+            description = "Rejects an access or refresh token from now on, before it expires. Applies on this " +
+                    "instance at once and on the others within jwt.revocation.refresh-interval. " +
+                    "Accessible only by users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Token revoked",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Token is invalid, expired or has no id", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<RevokedTokenDto>> revokeToken(
+            @Valid @RequestBody TokenRevocationRequestDto revocationRequest) {
+        VerifiedToken token;
+        try {
+            token = jwtUtil.parseToken(revocationRequest.token());
+        } catch (JwtAuthenticationException ex) {
+            // The token is not accepted anyway; a 401 would read as the admin's own token being rejected
+            throw new TokenNotRevocableException(ex.getMessage());
+        }
+        log.info("Admin revoking token of user: {}", token.username());
+        ApiResponse<RevokedTokenDto> response = ApiResponse.<RevokedTokenDto>builder()
+                .success(true)
+                .data(tokenRevocationList.revoke(token))
+                .message("Token revoked successfully")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "List revoked tokens",
+            description = "Returns revoked tokens that have not expired yet, soonest expiry first. Accessible only by " +
+                    "users with ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Revoked tokens retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/revoked")
+    public ResponseEntity<ApiResponse<List<RevokedTokenDto>>> getRevokedTokens() {
+        ApiResponse<List<RevokedTokenDto>> response = ApiResponse.<List<RevokedTokenDto>>builder()
+                .success(true)
+                .data(tokenRevocationList.revokedTokens())
+                .message("Revoked tokens retrieved successfully")
+                .build();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.vishnu.bookapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,8 @@ public class ApiResponse<T> {
 
     @Schema(description = "Message providing additional details about the response", example = "Operation completed successfully")
     private String message;
+
+    @Schema(description = "Opaque cursor for fetching the next page, omitted when there are no more results", example = "MjA")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
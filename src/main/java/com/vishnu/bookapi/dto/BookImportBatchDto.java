@@ -0,0 +1,19 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Progress report for one committed import batch")
+public record BookImportBatchDto(
+        @Schema(description = "1-based sequence number of the batch", example = "1")
+        int batch,
+
+        @Schema(description = "Number of books inserted by the batch", example = "1000")
+        int imported,
+
+        @Schema(description = "Total number of books inserted so far, including this batch", example = "1000")
+        long importedSoFar,
+
+        @Schema(description = "Time taken to insert and commit the batch in milliseconds", example = "35")
+        long elapsedMillis
+) {
+}
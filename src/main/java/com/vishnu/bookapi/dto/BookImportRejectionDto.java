@@ -0,0 +1,13 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A row of an import upload that was not imported")
+public record BookImportRejectionDto(
+        @Schema(description = "1-based position of the row in the upload, excluding the CSV header", example = "42")
+        long row,
+
+        @Schema(description = "Why the row was rejected", example = "title: Title must not be blank")
+        String reason
+) {
+}
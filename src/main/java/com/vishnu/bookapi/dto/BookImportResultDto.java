@@ -0,0 +1,24 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk book import")
+public record BookImportResultDto(
+        @Schema(description = "Number of data rows read from the upload", example = "10000")
+        long processedRows,
+
+        @Schema(description = "Number of books inserted", example = "9998")
+        long importedRows,
+
+        @Schema(description = "Number of rows that failed parsing or validation", example = "2")
+        long rejectedRowCount,
+
+        @Schema(description = "Per-batch progress, in commit order")
+        List<BookImportBatchDto> batches,
+
+        @Schema(description = "Rejected rows with reasons, truncated to the configured maximum")
+        List<BookImportRejectionDto> rejectedRows
+) {
+}
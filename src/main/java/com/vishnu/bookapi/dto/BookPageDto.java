@@ -0,0 +1,15 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A single page of books together with the cursor of the following page")
+public record BookPageDto(
+        @Schema(description = "Books on this page, ordered by id unless another sort was requested")
+        List<BookResponseDto> books,
+
+        @Schema(description = "Opaque cursor for the next page, null on the last page", example = "MjA")
+        String nextCursor
+) {
+}
@@ -0,0 +1,31 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request DTO for partially updating a book; omitted or null fields keep their current value")
+public record BookPatchDto(
+
+        @Schema(description = "New title of the book", example = "Effective Java")
+        @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+        @Size(max = 255, message = "Title must be less than 255 characters")
+        String title,
+
+        @Schema(description = "New author of the book", example = "Joshua Bloch")
+        @Pattern(regexp = "(?s).*\\S.*", message = "Author must not be blank")
+        @Size(max = 255, message = "Author must be less than 255 characters")
+        String author,
+
+        @Schema(description = "New description of the book", example = "A comprehensive guide to best practices in Java")
+        @Size(max = 1000, message = "Description must be less than 1000 characters")
+        String description
+) {
+
+    /**
+     * Whether the patch supplies any field; one without fields changes nothing.
+     */
+    public boolean hasChanges() {
+        return title != null || author != null || description != null;
+    }
+}
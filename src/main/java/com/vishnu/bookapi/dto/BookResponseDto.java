@@ -14,6 +14,9 @@ public record BookResponseDto(
         String author,
 
         @Schema(description = "Description of the book", example = "A comprehensive guide to best practices in Java")
-        String description
+        String description,
+
+        @Schema(description = "Version of the book, changed by every update and sent as its ETag", example = "0")
+        long version
 ) {
 }
@@ -0,0 +1,21 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of full-text search results, best match first")
+public record BookSearchResultDto(
+        @Schema(description = "Matching books on this page, ordered by relevance")
+        List<BookResponseDto> books,
+
+        @Schema(description = "Total number of matching books", example = "42")
+        int totalHits,
+
+        @Schema(description = "Zero-based page number", example = "0")
+        int page,
+
+        @Schema(description = "Page size", example = "20")
+        int size
+) {
+}
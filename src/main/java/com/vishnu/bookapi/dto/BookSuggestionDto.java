@@ -0,0 +1,20 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A title or author completing the typed prefix")
+public record BookSuggestionDto(
+        @Schema(description = "Suggested text as first written", example = "Effective Java")
+        String text,
+
+        @Schema(description = "Whether the text is a book title or an author", example = "TITLE")
+        Field field,
+
+        @Schema(description = "Number of books with this title or by this author", example = "1")
+        int books
+) {
+
+    public enum Field {
+        TITLE, AUTHOR
+    }
+}
@@ -0,0 +1,46 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Timing breakdown of one handled request")
+public record RequestTraceDto(
+
+        @Schema(description = "HTTP method", example = "GET")
+        String method,
+
+        @Schema(description = "Request path without the query string", example = "/api/books/42")
+        String path,
+
+        @Schema(description = "Response status", example = "200")
+        int status,
+
+        @Schema(description = "When the request arrived")
+        Instant startedAt,
+
+        @Schema(description = "Time from the first filter to the end of the response, in milliseconds", example = "12.5")
+        double totalMillis,
+
+        @Schema(description = "Recorded spans in request order; nested spans are included in their parent's time")
+        List<SpanTiming> spans
+) {
+
+    @Schema(description = "Combined time of one kind of span")
+    public record SpanTiming(
+
+            @Schema(description = "Span name, as used in the Server-Timing header", example = "db")
+            String name,
+
+            @Schema(description = "What the span covers", example = "Repository calls")
+            String description,
+
+            @Schema(description = "Combined duration in milliseconds", example = "0.31")
+            double millis,
+
+            @Schema(description = "Number of times the span ran", example = "2")
+            int count
+    ) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "A revoked token")
+public record RevokedTokenDto(
+
+        @Schema(description = "The token's jti claim")
+        String tokenId,
+
+        @Schema(description = "Subject of the token")
+        String username,
+
+        @Schema(description = "When the token would have expired; it is forgotten after this")
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.vishnu.bookapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Request DTO for revoking an access or refresh token before it expires")
+public record TokenRevocationRequestDto(
+
+        @Schema(description = "The compromised JWT")
+        @NotBlank(message = "Token must not be blank")
+        String token
+) {
+}
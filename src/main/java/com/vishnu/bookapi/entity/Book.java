@@ -1,5 +1,6 @@
 package com.vishnu.bookapi.entity;
 
+import com.vishnu.bookapi.service.CatalogVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,18 +8,30 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        // Filter and sort columns first, id last as the keyset tie-breaker
+        @Index(name = "idx_books_title", columnList = "title, id"),
+        @Index(name = "idx_books_author", columnList = "author, id"),
+        @Index(name = "idx_books_author_title", columnList = "author, title, id")
+})
+@EntityListeners(CatalogVersionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Book {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     @Column(nullable = false)
     private String title;
     private String author;
     @Column(length = 1000)
     private String description;
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
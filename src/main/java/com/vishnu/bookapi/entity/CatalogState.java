@@ -0,0 +1,24 @@
+package com.vishnu.bookapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row holding the catalog version shared by every instance. Only read and written through
+ * {@code CatalogVersion} with plain SQL; mapped so that {@code ddl-auto} creates the table.
+ */
+@Entity
+@Table(name = "catalog_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogState {
+    public static final long ID = 1;
+
+    @Id
+    private Long id;
+    @Column(nullable = false)
+    private long version;
+}
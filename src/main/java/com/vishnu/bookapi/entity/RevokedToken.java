@@ -0,0 +1,32 @@
+package com.vishnu.bookapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A token that must no longer be accepted, identified by its {@code jti} claim. The row is only needed until the
+ * token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+    @Column(nullable = false)
+    private String username;
+    @Column(nullable = false)
+    private Instant expiresAt;
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
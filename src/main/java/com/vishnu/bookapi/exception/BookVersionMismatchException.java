@@ -0,0 +1,11 @@
+package com.vishnu.bookapi.exception;
+
+public class BookVersionMismatchException extends RuntimeException {
+    public BookVersionMismatchException(String message) {
+        super(message);
+    }
+
+    public BookVersionMismatchException(Long id, long currentVersion, long expectedVersion) {
+        super("Book " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+    }
+}
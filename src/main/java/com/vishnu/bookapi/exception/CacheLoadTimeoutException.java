@@ -0,0 +1,7 @@
+package com.vishnu.bookapi.exception;
+
+public class CacheLoadTimeoutException extends RuntimeException {
+    public CacheLoadTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.vishnu.bookapi.exception;
 import com.vishnu.bookapi.dto.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -27,6 +28,56 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.error("Invalid cursor: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<ApiResponse<String>> handleUnsupportedSortException(UnsupportedSortException ex) {
+        log.error("Unsupported sort: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BookImportException.class)
+    public ResponseEntity<ApiResponse<String>> handleBookImportException(BookImportException ex) {
+        log.error("Import error: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TokenNotRevocableException.class)
+    public ResponseEntity<ApiResponse<String>> handleTokenNotRevocableException(TokenNotRevocableException ex) {
+        log.error("Token not revocable: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BookVersionMismatchException.class)
+    public ResponseEntity<ApiResponse<String>> handleBookVersionMismatchException(BookVersionMismatchException ex) {
+        log.error("Precondition failed: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<String>> handleValidationException(MethodArgumentNotValidException ex) {
         String errorMessage = ex.getBindingResult().getFieldErrors().stream()
@@ -40,6 +91,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(LoginCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<String>> handleLoginCapacityExceededException(
+            LoginCapacityExceededException ex) {
+        log.warn("Login rejected: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(CacheLoadTimeoutException.class)
+    public ResponseEntity<ApiResponse<String>> handleCacheLoadTimeoutException(CacheLoadTimeoutException ex) {
+        log.warn("Load timed out: {}", ex.getMessage());
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message("The service is busy, try again shortly")
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<String>> handleAccessDeniedException(
             AccessDeniedException ex, HttpServletRequest request) {
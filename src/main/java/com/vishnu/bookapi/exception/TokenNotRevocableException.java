@@ -0,0 +1,7 @@
+package com.vishnu.bookapi.exception;
+
+public class TokenNotRevocableException extends RuntimeException {
+    public TokenNotRevocableException(String message) {
+        super(message);
+    }
+}
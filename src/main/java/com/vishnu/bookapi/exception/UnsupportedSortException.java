@@ -0,0 +1,7 @@
+package com.vishnu.bookapi.exception;
+
+public class UnsupportedSortException extends RuntimeException {
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,74 @@
 package com.vishnu.bookapi.repository;
 
+import com.vishnu.bookapi.dto.BookResponseDto;
 import com.vishnu.bookapi.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Filtered listings go through {@link JpaSpecificationExecutor} with the conditions in {@link BookSpecifications}.
+ */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+    List<Book> findAllByOrderByIdAsc(Limit limit);
+
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every book as a DTO projection so no managed entities pile up in the persistence context.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    @Query("select new com.vishnu.bookapi.dto.BookResponseDto(b.id, b.title, b.author, b.description, b.version) " +
+            "from Book b order by b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookResponseDto> streamAllForExport();
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * The update statements below write in one round trip without loading the entity first, so they bypass entity
+     * listeners and dirty checking: they bump the version themselves and return the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.title = :title, b.author = :author, b.description = :description, " +
+            "b.version = b.version + 1 where b.id = :id")
+    int updateById(Long id, String title, String author, String description);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.title = :title, b.author = :author, b.description = :description, " +
+            "b.version = b.version + 1 where b.id = :id and b.version = :version")
+    int updateByIdAndVersion(Long id, long version, String title, String author, String description);
+
+    /**
+     * Updates only the non-null fields.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.title = coalesce(:title, b.title), b.author = coalesce(:author, b.author), " +
+            "b.description = coalesce(:description, b.description), b.version = b.version + 1 where b.id = :id")
+    int patchById(Long id, String title, String author, String description);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.title = coalesce(:title, b.title), b.author = coalesce(:author, b.author), " +
+            "b.description = coalesce(:description, b.description), b.version = b.version + 1 " +
+            "where b.id = :id and b.version = :version")
+    int patchByIdAndVersion(Long id, long version, String title, String author, String description);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Book b where b.id = :id")
+    int removeById(Long id);
 }
@@ -0,0 +1,93 @@
+package com.vishnu.bookapi.repository;
+
+import com.vishnu.bookapi.entity.Book;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters and keyset conditions for listing books. Each compares a column directly, without functions or leading
+ * wildcards, so the database can seek the matching index declared on {@link Book}.
+ */
+public final class BookSpecifications {
+
+    private static final char LIKE_ESCAPE = '!';
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> hasAuthor(String author) {
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    /**
+     * Titles starting with the prefix, as {@code LIKE 'prefix%'} with the wildcards in the prefix escaped. MySQL
+     * matches it under the column's collation and seeks the title index for it. The escape character is not a
+     * backslash because MySQL reads a backslash in a string literal as an escape of its own.
+     */
+    public static Specification<Book> titleStartsWith(String prefix) {
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return (root, query, cb) -> cb.like(root.get("title"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Titles starting with the prefix, as the range from the prefix up to its {@link #successor}. Only for databases
+     * that compare titles by UTF-16 code unit, like H2 by default. Those plan a statement once and cannot seek an
+     * index for a bound LIKE pattern. Under a linguistic collation such as MySQL's the successor can sort before
+     * the prefix.
+     */
+    public static Specification<Book> titleInPrefixRange(String prefix) {
+        String upperBound = successor(prefix);
+        return (root, query, cb) -> {
+            Path<String> title = root.get("title");
+            return upperBound == null
+                    ? cb.greaterThanOrEqualTo(title, prefix)
+                    : cb.and(cb.greaterThanOrEqualTo(title, prefix), cb.lessThan(title, upperBound));
+        };
+    }
+
+    public static Specification<Book> idAfter(Sort.Direction direction, Long id) {
+        return (root, query, cb) -> direction.isAscending()
+                ? cb.greaterThan(root.get("id"), id)
+                : cb.lessThan(root.get("id"), id);
+    }
+
+    /**
+     * Books after {@code (key, id)} in the order of {@code property} then id, both in {@code direction}. Nulls come
+     * first in ascending order, as on MySQL and H2. The leading range on the column lets the index seek past the
+     * previous pages.
+     */
+    public static Specification<Book> after(String property, Sort.Direction direction, String key, Long id) {
+        return (root, query, cb) -> {
+            Path<String> column = root.get(property);
+            Path<Long> bookId = root.get("id");
+            if (key == null) {
+                return direction.isAscending()
+                        ? cb.or(cb.and(cb.isNull(column), cb.greaterThan(bookId, id)), cb.isNotNull(column))
+                        : cb.and(cb.isNull(column), cb.lessThan(bookId, id));
+            }
+            if (direction.isAscending()) {
+                return cb.and(cb.greaterThanOrEqualTo(column, key),
+                        cb.or(cb.greaterThan(column, key), cb.greaterThan(bookId, id)));
+            }
+            return cb.or(cb.and(cb.lessThanOrEqualTo(column, key),
+                    cb.or(cb.lessThan(column, key), cb.lessThan(bookId, id))), cb.isNull(column));
+        };
+    }
+
+    /**
+     * The smallest string greater than every string starting with {@code prefix} in code unit order, or null if
+     * there is none.
+     */
+    public static String successor(String prefix) {
+        StringBuilder bound = new StringBuilder(prefix);
+        while (!bound.isEmpty()) {
+            char last = bound.charAt(bound.length() - 1);
+            bound.setLength(bound.length() - 1);
+            if (last != Character.MAX_VALUE) {
+                return bound.append((char) (last + 1)).toString();
+            }
+        }
+        return null;
+    }
+}
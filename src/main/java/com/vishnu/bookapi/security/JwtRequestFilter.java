@@ -1,46 +1,113 @@
 package com.vishnu.bookapi.security;
 
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import com.vishnu.bookapi.tracing.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Nonnull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final Timer acceptedTimer;
+    private final Timer rejectedTimer;
+    private final Timer userLoadTimer;
+    @Value("${jwt.user-lookup.enabled:false}")
+    private boolean userLookupEnabled;
+
+    public JwtRequestFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                            VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList,
+                            MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.acceptedTimer = verificationTimer("accepted", meterRegistry);
+        this.rejectedTimer = verificationTimer("rejected", meterRegistry);
+        this.userLoadTimer = Timer.builder("jwt.user.load")
+                .description("Time spent loading the user behind a bearer token from the database")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     @Nonnull HttpServletResponse response,
                                     @Nonnull FilterChain filterChain) throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            long start = System.nanoTime();
+            VerifiedToken token;
+            try {
+                token = verifiedTokenCache.verify(jwt, jwtUtil::parseToken);
+                // Checked after the cache so a revocation applies to tokens that were already verified
+                if (tokenRevocationList.isRevoked(token.id())) {
+                    throw new JwtAuthenticationException("Token has been revoked");
+                }
+                long elapsed = System.nanoTime() - start;
+                acceptedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                RequestTrace.record(RequestTrace.Span.JWT, elapsed);
+            } catch (JwtAuthenticationException ex) {
+                long elapsed = System.nanoTime() - start;
+                rejectedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                RequestTrace.record(RequestTrace.Span.JWT, elapsed);
+                token = null;
+                // Leave the request unauthenticated; protected endpoints answer 401
+                log.debug("Rejected bearer token: {}", ex.getMessage());
+            }
+            if (token != null) {
+                UserDetails userDetails = resolveUser(token);
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(VerifiedToken token) {
+        if (userLookupEnabled || token.roles() == null) {
+            // Lookup mode is switched on, or the token predates the roles claim
+            long start = System.nanoTime();
+            try {
+                return this.userDetailsService.loadUserByUsername(token.username());
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                userLoadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                RequestTrace.record(RequestTrace.Span.USER, elapsed);
+            }
+        }
+        return User.withUsername(token.username())
+                .password("")
+                .authorities(token.roles().toArray(String[]::new))
+                .build();
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.verification")
+                .description("Time spent verifying bearer tokens, including verified-token cache lookups")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -1,9 +1,15 @@
 package com.vishnu.bookapi.security;
 
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -11,72 +17,88 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secretKey;
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     @Value("${jwt.refresh.expiration}")
     private long refreshTokenExpiration;
+    // Both are immutable and thread-safe, so they are built once and shared by all requests
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("Secret key must be at least 32 characters long for HS256.");
+        }
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
-        return createToken(new HashMap<>(), userDetails.getUsername(), jwtExpiration);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        return createToken(claims, userDetails.getUsername(), jwtExpiration);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
         return createToken(new HashMap<>(), userDetails.getUsername(), refreshTokenExpiration);
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry of a token exactly once and returns its claims.
+     *
+     * @throws JwtAuthenticationException if the token is expired, malformed or not signed with our key
+     */
+    public VerifiedToken parseToken(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException ex) {
+            throw new JwtAuthenticationException("Token has expired");
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new JwtAuthenticationException("Invalid token");
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                roles == null ? null : roles.stream().map(String::valueOf).toList(),
+                claims.getExpiration().toInstant());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return parseToken(token).username().equals(userDetails.getUsername());
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return parseToken(token).username();
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expirationTime) {
         return Jwts.builder()
                 .claims(claims)
+                // Lets a single token be revoked before it expires
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSecretKey())
+                .signWith(signingKey)
                 .compact();
     }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSecretKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        if (keyBytes.length < 32) {
-            throw new IllegalStateException("Secret key must be at least 32 characters long for HS256.");
-        }
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
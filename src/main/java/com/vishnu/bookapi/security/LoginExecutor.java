@@ -0,0 +1,130 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password authentication on its own small pool, so BCrypt gets at most {@code auth.login.threads} cores and a
+ * login burst cannot take the request threads that serve books. Logins that find all threads busy and the queue of
+ * {@code auth.login.queue-capacity} full fail straight away with {@link LoginCapacityExceededException}, as do logins
+ * still waiting for a result after {@code auth.login.max-wait}.
+ * The queue is published as the {@code executor.*} metrics with {@code name=auth.login}.
+ */
+@Component
+@Slf4j
+public class LoginExecutor {
+
+    static final String METRIC_NAME = "auth.login";
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter rejectedCounter;
+    private final Counter timedOutCounter;
+
+    public LoginExecutor(AuthenticationManager authenticationManager,
+                         @Value("${auth.login.threads:0}") int threads,
+                         @Value("${auth.login.queue-capacity:32}") int queueCapacity,
+                         @Value("${auth.login.max-wait:5s}") Duration maxWait,
+                         MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.maxWait = maxWait;
+        // 0 sizes the pool to the machine, since BCrypt is pure CPU work
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("login-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Binds the pool and queue gauges only; verify time is recorded per outcome below
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.successTimer = verificationTimer("success", meterRegistry);
+        this.failureTimer = verificationTimer("failure", meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins turned away because the password verification queue was full")
+                .register(meterRegistry);
+        this.timedOutCounter = Counter.builder("auth.login.timed-out")
+                .description("Logins given up after waiting auth.login.max-wait for password verification")
+                .register(meterRegistry);
+        log.info("Verifying passwords on {} threads with a queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Authenticates on the login pool and waits for the result.
+     *
+     * @throws AuthenticationException        if the credentials are rejected
+     * @throws LoginCapacityExceededException if the login queue is full or the result takes longer than the
+     *                                        maximum wait
+     */
+    public Authentication authenticate(Authentication credentials) {
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> verify(credentials));
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new LoginCapacityExceededException("Too many logins in progress, try again shortly");
+        }
+        try {
+            return result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Frees the login thread if verification is still running, or drops the task if it is still queued
+            result.cancel(true);
+            timedOutCounter.increment();
+            throw new LoginCapacityExceededException("Login took too long, try again shortly");
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for login", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Login failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Authentication verify(Authentication credentials) {
+        long start = System.nanoTime();
+        try {
+            Authentication authentication = authenticationManager.authenticate(credentials);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return authentication;
+        } catch (RuntimeException ex) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.login.verification")
+                .description("Time spent checking login credentials on the login pool, excluding queue wait")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,202 @@
+package com.vishnu.bookapi.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.bookapi.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Limits each authenticated user with a {@link TokenBucket} per matching {@link RateLimitProperties.Rule}. Runs right
+ * after {@link JwtRequestFilter}, so requests over the limit are turned away before authorization and the
+ * controller. Every limited response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset}; rejected ones get 429 with {@code Retry-After}. Buckets that have been full for
+ * {@code rate-limit.idle-timeout} are dropped by a background sweep.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT = "RateLimit-Limit";
+    static final String REMAINING = "RateLimit-Remaining";
+    static final String RESET = "RateLimit-Reset";
+
+    private record CompiledRule(int index, PathPattern pattern, Set<HttpMethod> methods, String role, long capacity,
+                                long periodNanos, Counter allowed, Counter rejected) {
+
+        boolean matches(PathContainer path, HttpMethod method, Authentication authentication) {
+            return (methods.isEmpty() || methods.contains(method))
+                    && pattern.matches(path)
+                    && (role == null || authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(role::equals));
+        }
+    }
+
+    private record BucketKey(int rule, String username) {
+    }
+
+    private final boolean enabled;
+    private final long idleNanos;
+    private final List<CompiledRule> rules;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rate-limit-eviction").daemon().factory());
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                    LongSupplier nanoClock) {
+        this.enabled = properties.enabled();
+        this.idleNanos = properties.idleTimeout().toNanos();
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        List<RateLimitProperties.Rule> configured = properties.rules();
+        this.rules = IntStream.range(0, configured.size())
+                .mapToObj(i -> compile(i, configured.get(i), meterRegistry))
+                .toList();
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Per-user rate limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long sweepMillis = Math.max(1000, TimeUnit.NANOSECONDS.toMillis(idleNanos) / 2);
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleBuckets, sweepMillis, sweepMillis,
+                TimeUnit.MILLISECONDS);
+        log.info("Rate limiting {} with {} rules", enabled ? "enabled" : "disabled", rules.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        evictionExecutor.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            // Anonymous requests to protected paths are answered 401 further down the chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI()
+                .substring(request.getContextPath().length()));
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        CompiledRule rule = null;
+        for (CompiledRule candidate : rules) {
+            if (candidate.matches(path, method, authentication)) {
+                rule = candidate;
+                break;
+            }
+        }
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        BucketKey key = new BucketKey(rule.index(), authentication.getName());
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            CompiledRule matched = rule;
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(matched.capacity(), matched.periodNanos(), now));
+        }
+        TokenBucket.Decision decision = bucket.tryConsume(now);
+        response.setHeader(LIMIT, Long.toString(bucket.capacity()));
+        response.setHeader(REMAINING, Long.toString(decision.remaining()));
+        response.setHeader(RESET, Long.toString(toSecondsCeil(decision.resetNanos())));
+        if (decision.allowed()) {
+            rule.allowed().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rule.rejected().increment();
+        log.debug("Rate limit exceeded by {} for {} {}", authentication.getName(), method, path);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(toSecondsCeil(decision.waitNanos())));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.<String>builder()
+                .success(false)
+                .message("Rate limit exceeded, retry after " + response.getHeader(HttpHeaders.RETRY_AFTER) + "s")
+                .build());
+    }
+
+    void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        // A bucket refilled while being removed only loses tokens it already had back, so the race is harmless
+        buckets.values().removeIf(bucket -> bucket.idleSince(now, idleNanos));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private static CompiledRule compile(int index, RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+        if (rule.capacity() < 1 || rule.period() == null || rule.period().isNegative() || rule.period().isZero()) {
+            throw new IllegalStateException("rate-limit.rules[" + index + "] needs a positive capacity and period");
+        }
+        return new CompiledRule(index, PathPatternParser.defaultInstance.parse(rule.pattern()),
+                Set.copyOf(rule.methods()), rule.role(), rule.capacity(), rule.period().toNanos(),
+                decisionCounter(index, rule, "allowed", meterRegistry),
+                decisionCounter(index, rule, "rejected", meterRegistry));
+    }
+
+    private static Counter decisionCounter(int index, RateLimitProperties.Rule rule, String outcome,
+                                           MeterRegistry meterRegistry) {
+        return Counter.builder("rate.limit.requests")
+                .description("Requests checked against a rate limit rule")
+                .tag("rule", Integer.toString(index))
+                .tag("pattern", rule.pattern())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vishnu.bookapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-user request limits, bound from {@code rate-limit.*}. A request is limited by the first rule that matches its
+ * path, method and the caller's roles; requests no rule matches are not limited.
+ *
+ * @param idleTimeout how long a full bucket is kept before it is dropped; a new bucket starts full, so dropping one
+ *                    never lets a client send more
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("5m") Duration idleTimeout,
+                                  @DefaultValue List<Rule> rules) {
+
+    /**
+     * Allows bursts of up to {@code capacity} requests, refilled evenly so that {@code capacity} requests are
+     * allowed per {@code period}.
+     *
+     * @param pattern Spring path pattern such as {@code /api/books/**}
+     * @param methods methods the rule applies to; empty for all
+     * @param role    authority the caller must hold, such as {@code ROLE_ADMIN}; {@code null} for any caller
+     */
+    public record Rule(String pattern, @DefaultValue List<HttpMethod> methods, String role, long capacity,
+                       Duration period) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.vishnu.bookapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The in-memory side of token revocation: unexpired revoked token ids behind a Bloom filter, so checking a token that
+ * was never revoked costs a few hash probes and no map lookup. Filled from the {@code revoked_tokens} table by
+ * {@link TokenRevocationList} on the servlet stack and by its reactive counterpart.
+ */
+public final class RevokedTokenSet {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    // Token id to expiry; written under this, read without locking
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    // Ids the current filter was sized for; guarded by this
+    private int bloomCapacity;
+    private final Counter bloomNegatives;
+    private final Counter falsePositives;
+    private final Counter revokedHits;
+
+    public RevokedTokenSet(int expectedRevocations, double falsePositiveRate, MeterRegistry meterRegistry) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomCapacity = expectedRevocations;
+        this.bloomFilter = new BloomFilter(bloomCapacity, falsePositiveRate);
+        this.bloomNegatives = lookupCounter("bloom-negative", meterRegistry);
+        this.falsePositives = lookupCounter("false-positive", meterRegistry);
+        this.revokedHits = lookupCounter("revoked", meterRegistry);
+        Gauge.builder("jwt.revocation.entries", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet, held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lock-free; only ids that pass the Bloom filter are looked up in the exact set.
+     *
+     * @param tokenId the token's {@code jti} claim, or {@code null} for tokens issued without one
+     */
+    public boolean contains(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        if (!revoked.containsKey(tokenId)) {
+            falsePositives.increment();
+            return false;
+        }
+        revokedHits.increment();
+        return true;
+    }
+
+    public synchronized void add(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        if (revoked.size() > bloomCapacity) {
+            // Past its sizing the filter passes too many ids through; grow it
+            rebuildBloomFilter();
+        } else {
+            bloomFilter.add(tokenId);
+        }
+    }
+
+    /**
+     * Drops entries expired at {@code now}, adds {@code active} and rebuilds the filter from what is left, so memory
+     * only holds tokens that could still be presented. Entries added since {@code active} was read are kept; the
+     * table may not show them yet on a replica.
+     *
+     * @param active token id to expiry of the unexpired rows
+     */
+    public synchronized void reload(Map<String, Instant> active, Instant now) {
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revoked.putAll(active);
+        rebuildBloomFilter();
+    }
+
+    private void rebuildBloomFilter() {
+        bloomCapacity = Math.max(expectedRevocations, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(bloomCapacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private static Counter lookupCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("jwt.revocation.lookups")
+                .description("Revocation checks of bearer tokens, by how far they had to look")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.vishnu.bookapi.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp, the generic cell rate algorithm: the bucket is full again at
+ * {@code fullAt}, and each request pushes that time one refill interval further. A request is allowed while the bucket
+ * would still be full within {@code capacity} intervals. Taking a token is one compare-and-set, so threads never
+ * block each other.
+ */
+final class TokenBucket {
+
+    /**
+     * @param remaining    tokens left after this request
+     * @param resetNanos   until the bucket is full again
+     * @param waitNanos    until a rejected request would be allowed; 0 when allowed
+     */
+    record Decision(boolean allowed, long remaining, long resetNanos, long waitNanos) {
+    }
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, long periodNanos, long now) {
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    Decision tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                return new Decision(false, 0, current - now, debt - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Decision(true, (burstNanos - debt) / intervalNanos, debt, 0);
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Whether the bucket has been full for at least {@code idleNanos}, so dropping it changes nothing.
+     */
+    boolean idleSince(long now, long idleNanos) {
+        return now - fullAt.get() >= idleNanos;
+    }
+}
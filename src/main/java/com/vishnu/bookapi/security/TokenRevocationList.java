@@ -0,0 +1,143 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.dto.RevokedTokenDto;
+import com.vishnu.bookapi.entity.RevokedToken;
+import com.vishnu.bookapi.exception.TokenNotRevocableException;
+import com.vishnu.bookapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ids of tokens revoked before their expiry. The {@code revoked_tokens} table is the source of truth; each instance
+ * keeps the unexpired ids in a {@link RevokedTokenSet}, so checking a token that was never revoked costs a few hash
+ * probes and no map lookup or query. Every {@code jwt.revocation.refresh-interval} the table is reloaded, which
+ * also picks up revocations made on other instances, and rows whose token has expired are deleted.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Clock clock;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("token-revocation-refresh").daemon().factory());
+    private final RevokedTokenSet revoked;
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expected-revocations:10000}") int expectedRevocations,
+                               @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${jwt.revocation.refresh-interval:30s}") Duration refreshInterval,
+                               MeterRegistry meterRegistry) {
+        this(revokedTokenRepository, expectedRevocations, falsePositiveRate, refreshInterval, meterRegistry,
+                Clock.systemUTC());
+    }
+
+    TokenRevocationList(RevokedTokenRepository revokedTokenRepository, int expectedRevocations,
+                        double falsePositiveRate, Duration refreshInterval, MeterRegistry meterRegistry, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+        this.revoked = new RevokedTokenSet(expectedRevocations, falsePositiveRate, meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        long intervalMillis = refreshInterval.toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Lock-free; see {@link RevokedTokenSet#contains(String)}.
+     *
+     * @param tokenId the token's {@code jti} claim, or {@code null} for tokens issued without one
+     */
+    public boolean isRevoked(String tokenId) {
+        return revoked.contains(tokenId);
+    }
+
+    /**
+     * Persists the revocation and applies it on this instance at once; other instances see it after their next refresh.
+     *
+     * @throws TokenNotRevocableException if the token carries no id
+     */
+    public RevokedTokenDto revoke(VerifiedToken token) {
+        if (token.id() == null) {
+            throw new TokenNotRevocableException("Token has no id; it was issued before revocation support and " +
+                    "stays valid until it expires at " + token.expiresAt());
+        }
+        RevokedToken revokedToken = RevokedToken.builder()
+                .tokenId(token.id())
+                .username(token.username())
+                .expiresAt(token.expiresAt())
+                .revokedAt(clock.instant())
+                .build();
+        revokedTokenRepository.save(revokedToken);
+        revoked.add(token.id(), token.expiresAt());
+        log.info("Revoked token {} of user {}", token.id(), token.username());
+        return mapToDto(revokedToken);
+    }
+
+    /**
+     * Revocations whose token has not expired yet, soonest expiry first.
+     */
+    public List<RevokedTokenDto> revokedTokens() {
+        Instant now = clock.instant();
+        return revokedTokenRepository.findByExpiresAtAfter(now).stream()
+                .sorted(Comparator.comparing(RevokedToken::getExpiresAt))
+                .map(TokenRevocationList::mapToDto)
+                .toList();
+    }
+
+    /**
+     * Deletes expired rows, reloads the unexpired ones and rebuilds the filter from them, so memory only holds tokens
+     * that could still be presented. The delete only runs when a read finds expired rows: every read-write
+     * transaction counts as a write for replica routing and sends reads to the primary for a while.
+     */
+    void refresh() {
+        Instant now = clock.instant();
+        int deleted = revokedTokenRepository.existsByExpiresAtLessThanEqual(now)
+                ? revokedTokenRepository.deleteExpired(now)
+                : 0;
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+        revoked.reload(active.stream().collect(Collectors.toMap(RevokedToken::getTokenId, RevokedToken::getExpiresAt)),
+                now);
+        log.debug("Loaded {} revoked tokens, deleted {} expired", active.size(), deleted);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // Keep serving the current list; the next run retries
+            log.warn("Could not refresh revoked tokens: {}", ex.getMessage());
+        }
+    }
+
+    private static RevokedTokenDto mapToDto(RevokedToken token) {
+        return new RevokedTokenDto(token.getTokenId(), token.getUsername(), token.getExpiresAt());
+    }
+}
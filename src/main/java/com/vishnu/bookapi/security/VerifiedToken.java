@@ -0,0 +1,13 @@
+package com.vishnu.bookapi.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ *
+ * @param id    the {@code jti} claim, or {@code null} for tokens issued before tokens had ids
+ * @param roles authorities from the roles claim, or {@code null} if the token does not carry one
+ */
+public record VerifiedToken(String id, String username, List<String> roles, Instant expiresAt) {
+}
@@ -0,0 +1,100 @@
+package com.vishnu.bookapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens that already passed signature verification, keyed by their SHA-256 digest so raw bearer tokens
+ * are never retained. Each entry expires together with its token, so a hit is always still valid.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this(enabled, maximumSize, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(boolean enabled, long maximumSize, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        // Prometheus rejects a meter name registered with different tag keys, so match the Spring cache metrics' tags
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME,
+                Tags.of("cache.manager", "none", "name", CACHE_NAME));
+    }
+
+    /**
+     * Returns the cached verification result for the token, running {@code verifier} only on a miss.
+     * Failed verifications are not cached.
+     */
+    public VerifiedToken verify(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(clock), token.expiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
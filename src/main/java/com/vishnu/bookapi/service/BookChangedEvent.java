@@ -0,0 +1,28 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+
+/**
+ * Published for every book write so in-process read models can follow the catalog. Listeners receive it once the
+ * write has committed.
+ *
+ * @param book the book as written, or {@code null} for {@link Type#DELETED}
+ */
+public record BookChangedEvent(Type type, Long bookId, BookResponseDto book) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static BookChangedEvent created(BookResponseDto book) {
+        return new BookChangedEvent(Type.CREATED, book.id(), book);
+    }
+
+    public static BookChangedEvent updated(BookResponseDto book) {
+        return new BookChangedEvent(Type.UPDATED, book.id(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(Type.DELETED, bookId, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The opaque {@code nextCursor} of a keyset page: the last book id on the page, URL-safe Base64 encoded. Pages sorted
+ * by another column also carry that column's value of the last book.
+ */
+public final class BookCursor {
+
+    private static final char KEY_SEPARATOR = '/';
+    private static final char VALUE_MARKER = '=';
+
+    /**
+     * The last book of a page sorted by a column other than id. {@code sortKey} is null for books without a value.
+     */
+    public record Keyed(Long id, String sortKey) {
+    }
+
+    private BookCursor() {
+    }
+
+    public static String encode(Long id) {
+        return toBase64(id.toString());
+    }
+
+    public static String encode(Long id, String sortKey) {
+        return toBase64(id.toString() + KEY_SEPARATOR + (sortKey == null ? "" : VALUE_MARKER + sortKey));
+    }
+
+    /**
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode(Long)}
+     */
+    public static Long decode(String cursor) {
+        try {
+            return Long.valueOf(fromBase64(cursor));
+        } catch (IllegalArgumentException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    /**
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode(Long, String)}
+     */
+    public static Keyed decodeKeyed(String cursor) {
+        try {
+            String text = fromBase64(cursor);
+            int separator = text.indexOf(KEY_SEPARATOR);
+            if (separator < 0 || (separator + 1 < text.length() && text.charAt(separator + 1) != VALUE_MARKER)) {
+                throw invalid(cursor);
+            }
+            Long id = Long.valueOf(text.substring(0, separator));
+            return new Keyed(id, separator + 1 < text.length() ? text.substring(separator + 2) : null);
+        } catch (IllegalArgumentException ex) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static String toBase64(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromBase64(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    private static InvalidCursorException invalid(String cursor) {
+        return new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+}
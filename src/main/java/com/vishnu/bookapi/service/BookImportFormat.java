@@ -0,0 +1,24 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.exception.BookImportException;
+import org.springframework.http.MediaType;
+
+public enum BookImportFormat {
+    CSV(MediaType.valueOf("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    BookImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static BookImportFormat fromMediaType(MediaType mediaType) {
+        for (BookImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new BookImportException("Unsupported import content type: " + mediaType);
+    }
+}
@@ -0,0 +1,11 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream inputStream, BookImportFormat format, Charset charset) throws IOException;
+}
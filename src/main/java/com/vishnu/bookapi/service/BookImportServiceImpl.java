@@ -0,0 +1,126 @@
+package com.vishnu.bookapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.bookapi.dto.BookImportBatchDto;
+import com.vishnu.bookapi.dto.BookImportRejectionDto;
+import com.vishnu.bookapi.dto.BookImportResultDto;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    @Value("${book.import.batch-size:1000}")
+    private int batchSize;
+    @Value("${book.import.max-rejected-rows:1000}")
+    private int maxRejectedRows;
+
+    @Override
+    public BookImportResultDto importBooks(InputStream inputStream, BookImportFormat format, Charset charset)
+            throws IOException {
+        log.info("Importing books from {} upload", format);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, charset), 64 * 1024);
+        BookRowReader rows = switch (format) {
+            case CSV -> new CsvBookRowReader(reader);
+            case NDJSON -> new NdjsonBookRowReader(reader, objectMapper.reader());
+        };
+        List<Book> batch = new ArrayList<>(batchSize);
+        List<BookImportBatchDto> batches = new ArrayList<>();
+        List<BookImportRejectionDto> rejections = new ArrayList<>();
+        long processed = 0;
+        long imported = 0;
+        long rejected = 0;
+        BookRowReader.BookRow row;
+        while ((row = rows.next()) != null) {
+            processed++;
+            String error = row.error() != null ? row.error() : validate(row.book());
+            if (error != null) {
+                rejected++;
+                if (rejections.size() < maxRejectedRows) {
+                    rejections.add(new BookImportRejectionDto(row.number(), error));
+                }
+                continue;
+            }
+            batch.add(toEntity(row.book()));
+            if (batch.size() == batchSize) {
+                imported += insertBatch(batch, batches, imported);
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += insertBatch(batch, batches, imported);
+        }
+        log.info("Import finished: {} rows processed, {} imported, {} rejected", processed, imported, rejected);
+        return new BookImportResultDto(processed, imported, rejected, batches, rejections);
+    }
+
+    private int insertBatch(List<Book> batch, List<BookImportBatchDto> batches, long importedSoFar) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.saveAll(batch);
+            // Flush the batched inserts and drop the entities so the persistence context stays small
+            entityManager.flush();
+            entityManager.clear();
+        });
+        for (Book book : batch) {
+            eventPublisher.publishEvent(BookChangedEvent.created(
+                    new BookResponseDto(book.getId(), book.getTitle(), book.getAuthor(), book.getDescription(),
+                            book.getVersion())));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        int size = batch.size();
+        BookImportBatchDto progress = new BookImportBatchDto(batches.size() + 1, size, importedSoFar + size, elapsedMillis);
+        batches.add(progress);
+        log.info("Import batch {} committed: {} books in {} ms ({} total)",
+                progress.batch(), size, elapsedMillis, progress.importedSoFar());
+        batch.clear();
+        return size;
+    }
+
+    private String validate(BookRequestDto book) {
+        Set<ConstraintViolation<BookRequestDto>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Book toEntity(BookRequestDto bookRequestDto) {
+        return Book.builder()
+                .title(bookRequestDto.title())
+                .author(bookRequestDto.author())
+                .description(bookRequestDto.description())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookRequestDto;
+
+import java.io.IOException;
+
+/**
+ * Pulls one book row at a time from an import upload so the whole file never has to be held in memory.
+ */
+interface BookRowReader {
+
+    /**
+     * Returns the next row, or {@code null} once the upload is exhausted.
+     */
+    BookRow next() throws IOException;
+
+    /**
+     * A parsed row; {@code error} is set instead of {@code book} when the row could not be parsed.
+     */
+    record BookRow(long number, BookRequestDto book, String error) {
+
+        static BookRow parsed(long number, BookRequestDto book) {
+            return new BookRow(number, book, null);
+        }
+
+        static BookRow malformed(long number, String error) {
+            return new BookRow(number, null, error);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over book titles, authors and descriptions. Built from the database once the application
+ * is ready and kept current from {@link BookChangedEvent}s, so searches never touch the books table.
+ * Documents are ranked by TF-IDF with title matches weighted above author and description matches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "by", "for", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private final BookRepository bookRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (book id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // book id -> terms, used to remove a book's postings when it changes
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    // Ids written while the initial build is running; the build must not overwrite them with older rows
+    private Set<Long> changedDuringBuild;
+
+    public record Hits(List<Long> ids, int total) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            changedDuringBuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long start = System.nanoTime();
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookResponseDto> books = bookRepository.streamAllForExport()) {
+                books.forEach(book -> {
+                    lock.writeLock().lock();
+                    try {
+                        if (!changedDuringBuild.contains(book.id())) {
+                            indexLocked(book);
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                });
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            changedDuringBuild = null;
+            log.info("Search index built with {} books and {} terms in {} ms",
+                    documentTerms.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(event.bookId());
+            }
+            removeLocked(event.bookId());
+            if (event.type() != BookChangedEvent.Type.DELETED) {
+                indexLocked(event.book());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching books in rank order, skipping the first {@code offset} hits.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            for (String term : terms) {
+                Map<Long, Integer> documents = postings.get(term);
+                if (documents == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documentCount / documents.size());
+                documents.forEach((id, frequency) -> scores.merge(id, frequency * idf, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Hits(topIds(scores, offset, limit), scores.size());
+    }
+
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split(" ")) {
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Folds accents, lowercases and collapses every run of punctuation or whitespace into a single space.
+     */
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").strip();
+    }
+
+    private void indexLocked(BookResponseDto book) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, book.title(), TITLE_WEIGHT);
+        addTerms(frequencies, book.author(), AUTHOR_WEIGHT);
+        addTerms(frequencies, book.description(), DESCRIPTION_WEIGHT);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(book.id(), frequency));
+        documentTerms.put(book.id(), frequencies.keySet());
+    }
+
+    private void removeLocked(Long bookId) {
+        Set<String> terms = documentTerms.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> documents = postings.get(term);
+            documents.remove(bookId);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static List<Long> topIds(Map<Long, Double> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (offset >= scores.size()) {
+            return List.of();
+        }
+        // Higher score first, lower id first on ties so paging is stable
+        Comparator<Map.Entry<Long, Double>> rank = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(wanted + 1, rank.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(rank);
+        return ranked.subList(offset, ranked.size()).stream()
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -1,18 +1,52 @@
 package com.vishnu.bookapi.service;
 
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
 import com.vishnu.bookapi.dto.BookRequestDto;
 import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSearchResultDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookService {
     BookResponseDto addBook(BookRequestDto bookRequestDto);
 
-    BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto);
+    /**
+     * Replaces a book's details. When {@code expectedVersion} is given the update only succeeds if the book is still
+     * at that version; otherwise the last write wins.
+     */
+    BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto, Long expectedVersion);
+
+    /**
+     * Changes only the fields present in the patch and bumps the version. A patch without fields writes nothing and
+     * returns the book as stored. When {@code expectedVersion} is given the patch only applies, and an empty patch only
+     * succeeds, if the book is still at that version.
+     */
+    BookResponseDto patchBook(Long id, BookPatchDto bookPatchDto, Long expectedVersion);
 
     void deleteBook(Long id);
 
     BookResponseDto getBook(Long id);
 
-    List<BookResponseDto> getAllBooks();
+    BookPageDto getBooks(String after, int limit);
+
+    /**
+     * Returns one keyset page of the books matching every given filter, in {@code sort} order. Null or blank filters
+     * are ignored; {@code after} must be a cursor returned for the same sort. Without a sort the order is title when
+     * only a title prefix is given and id otherwise.
+     */
+    BookPageDto findBooks(String author, String titlePrefix, BookSort sort, String after, int limit);
+
+    void exportBooks(Consumer<BookResponseDto> consumer);
+
+    /**
+     * Returns an opaque version of the whole catalog that changes whenever any book is written.
+     */
+    String getCatalogVersion();
+
+    BookSearchResultDto searchBooks(String query, int page, int size);
+
+    List<BookSuggestionDto> suggestBooks(String prefix, int limit);
 }
@@ -1,22 +1,65 @@
 package com.vishnu.bookapi.service;
 
+import com.vishnu.bookapi.config.CacheConfig;
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
 import com.vishnu.bookapi.dto.BookRequestDto;
 import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSearchResultDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
 import com.vishnu.bookapi.entity.Book;
 import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.exception.BookVersionMismatchException;
 import com.vishnu.bookapi.repository.BookRepository;
+import com.vishnu.bookapi.repository.BookSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "book.service", description = "Time spent in BookService methods, tagged by method and exception")
 public class BookServiceImpl implements BookService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SUGGESTIONS = 25;
+
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private boolean titlePrefixAsRange;
+
+    @PostConstruct
+    void detectTitlePrefixMatching() {
+        // H2 compares titles by code unit but cannot seek an index for a bound LIKE pattern, so it gets a range
+        titlePrefixAsRange = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect() instanceof H2Dialect;
+    }
 
     @Override
     public BookResponseDto addBook(BookRequestDto bookRequestDto) {
@@ -27,46 +70,216 @@ public class BookServiceImpl implements BookService {
                 .description(bookRequestDto.description())
                 .build();
         Book saved = bookRepository.save(book);
-        return mapToDto(saved);
+        BookResponseDto created = mapToDto(saved);
+        eventPublisher.publishEvent(BookChangedEvent.created(created));
+        return created;
     }
 
+    /**
+     * Writes with a single UPDATE instead of load-then-save. The caller's expected version goes into the WHERE clause,
+     * so a concurrent change makes the statement match no row instead of being overwritten.
+     */
     @Override
-    public BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto) {
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
+    public BookResponseDto updateBook(Long id, BookRequestDto bookRequestDto, Long expectedVersion) {
         log.info("Updating book with id: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
-        book.setTitle(bookRequestDto.title());
-        book.setAuthor(bookRequestDto.author());
-        book.setDescription(bookRequestDto.description());
-        Book updated = bookRepository.save(book);
-        return mapToDto(updated);
+        long version;
+        if (expectedVersion == null) {
+            requireFound(bookRepository.updateById(id, bookRequestDto.title(), bookRequestDto.author(),
+                    bookRequestDto.description()), id);
+            // The updated row stays locked until commit, so this reads back our own version
+            version = bookRepository.findVersionById(id).orElseThrow(() -> notFound(id));
+        } else {
+            int updated = bookRepository.updateByIdAndVersion(id, expectedVersion, bookRequestDto.title(),
+                    bookRequestDto.author(), bookRequestDto.description());
+            if (updated == 0) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            version = expectedVersion + 1;
+        }
+        BookResponseDto result = new BookResponseDto(id, bookRequestDto.title(), bookRequestDto.author(),
+                bookRequestDto.description(), version);
+        bookWritten(BookChangedEvent.updated(result));
+        return result;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id", condition = "#bookPatchDto.hasChanges()")
+    public BookResponseDto patchBook(Long id, BookPatchDto bookPatchDto, Long expectedVersion) {
+        log.info("Patching book with id: {}", id);
+        if (!bookPatchDto.hasChanges()) {
+            // Nothing to change: answer from a read, so neither the book's version nor the catalog ETag moves
+            Book book = bookRepository.findById(id).orElseThrow(() -> notFound(id));
+            if (expectedVersion != null && book.getVersion() != expectedVersion) {
+                throw new BookVersionMismatchException(id, book.getVersion(), expectedVersion);
+            }
+            return mapToDto(book);
+        }
+        if (expectedVersion == null) {
+            requireFound(bookRepository.patchById(id, bookPatchDto.title(), bookPatchDto.author(),
+                    bookPatchDto.description()), id);
+        } else if (bookRepository.patchByIdAndVersion(id, expectedVersion, bookPatchDto.title(),
+                bookPatchDto.author(), bookPatchDto.description()) == 0) {
+            throw versionMismatch(id, expectedVersion);
+        }
+        BookResponseDto result = mapToDto(bookRepository.findById(id).orElseThrow(() -> notFound(id)));
+        bookWritten(BookChangedEvent.updated(result));
+        return result;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteBook(Long id) {
         log.info("Deleting book with id: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
-        bookRepository.delete(book);
+        requireFound(bookRepository.removeById(id), id);
+        bookWritten(BookChangedEvent.deleted(id));
     }
 
+    /**
+     * Read-through cached. {@code sync} loads each id under the cache's per-key lock, so an eviction issued by a
+     * concurrent write waits for an in-flight load and removes its possibly stale result instead of racing it.
+     * Concurrent misses for one id share a single load and do not open transactions of their own.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id", sync = true,
+            cacheResolver = CacheConfig.COALESCING_CACHE_RESOLVER)
+    @Transactional(readOnly = true)
     public BookResponseDto getBook(Long id) {
         log.info("Fetching book with id: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + id));
+        Book book = bookRepository.findById(id).orElseThrow(() -> notFound(id));
         return mapToDto(book);
     }
 
     @Override
-    public List<BookResponseDto> getAllBooks() {
-        log.info("Fetching all books");
-        return bookRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public BookPageDto getBooks(String after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        log.info("Fetching books after cursor: {} with limit: {}", after, pageSize);
+        // Fetch one extra row to learn whether a next page exists without a count query
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Book> books = (after == null || after.isBlank())
+                ? bookRepository.findAllByOrderByIdAsc(fetchLimit)
+                : bookRepository.findByIdGreaterThanOrderByIdAsc(BookCursor.decode(after), fetchLimit);
+        List<BookResponseDto> page = books.stream()
+                .limit(pageSize)
                 .map(this::mapToDto)
                 .toList();
+        String nextCursor = books.size() > pageSize ? BookCursor.encode(page.getLast().id()) : null;
+        return new BookPageDto(page, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookPageDto findBooks(String author, String titlePrefix, BookSort requestedSort, String after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        boolean byAuthor = StringUtils.hasText(author);
+        boolean byTitlePrefix = StringUtils.hasText(titlePrefix);
+        BookSort sort = BookSort.resolve(requestedSort, byAuthor, byTitlePrefix);
+        log.info("Fetching books by author: {}, title prefix: {}, sorted by {} after cursor: {} with limit: {}",
+                author, titlePrefix, sort, after, pageSize);
+        List<Specification<Book>> conditions = new ArrayList<>();
+        if (byAuthor) {
+            conditions.add(BookSpecifications.hasAuthor(author));
+        }
+        if (byTitlePrefix) {
+            conditions.add(titlePrefixAsRange
+                    ? BookSpecifications.titleInPrefixRange(titlePrefix)
+                    : BookSpecifications.titleStartsWith(titlePrefix));
+        }
+        if (StringUtils.hasText(after)) {
+            if (sort.field() == BookSort.Field.ID) {
+                conditions.add(BookSpecifications.idAfter(sort.direction(), BookCursor.decode(after)));
+            } else {
+                BookCursor.Keyed position = BookCursor.decodeKeyed(after);
+                conditions.add(BookSpecifications.after(sort.field().property(), sort.direction(),
+                        position.sortKey(), position.id()));
+            }
+        }
+        // Fetch one extra row to learn whether a next page exists without a count query
+        List<Book> books = bookRepository.findBy(Specification.allOf(conditions),
+                query -> query.sortBy(sort.toSort()).limit(pageSize + 1).all());
+        List<BookResponseDto> page = books.stream()
+                .limit(pageSize)
+                .map(this::mapToDto)
+                .toList();
+        String nextCursor = null;
+        if (books.size() > pageSize) {
+            BookResponseDto last = page.getLast();
+            nextCursor = sort.field() == BookSort.Field.ID
+                    ? BookCursor.encode(last.id())
+                    : BookCursor.encode(last.id(), sort.keyOf(last));
+        }
+        return new BookPageDto(page, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<BookResponseDto> consumer) {
+        log.info("Exporting all books");
+        try (Stream<BookResponseDto> books = bookRepository.streamAllForExport()) {
+            books.forEach(consumer);
+        }
+    }
+
+    @Override
+    public String getCatalogVersion() {
+        return catalogVersion.current();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSearchResultDto searchBooks(String query, int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        log.info("Searching books for: {} (page {}, size {})", query, pageNumber, pageSize);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE - pageSize);
+        BookSearchIndex.Hits hits = bookSearchIndex.search(query, offset, pageSize);
+        Map<Long, Book> booksById = bookRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookResponseDto> books = hits.ids().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToDto)
+                .toList();
+        return new BookSearchResultDto(books, hits.total(), pageNumber, pageSize);
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggestBooks(String prefix, int limit) {
+        // Called on every keystroke, so keep it off the info log
+        log.debug("Suggesting books for prefix: {}", prefix);
+        return bookSuggestIndex.suggest(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+    }
+
+    private void bookWritten(BookChangedEvent event) {
+        // Bulk statements skip the entity listener that normally moves the catalog version
+        catalogVersion.changed();
+        eventPublisher.publishEvent(event);
+    }
+
+    private static void requireFound(int affectedRows, Long id) {
+        if (affectedRows == 0) {
+            throw notFound(id);
+        }
+    }
+
+    private static BookNotFoundException notFound(Long id) {
+        return new BookNotFoundException("Book not found with id: " + id);
+    }
+
+    /**
+     * Explains a conditional write that matched no row; throws {@link BookNotFoundException} if the book is gone.
+     */
+    private BookVersionMismatchException versionMismatch(Long id, long expectedVersion) {
+        long current = bookRepository.findVersionById(id).orElseThrow(() -> notFound(id));
+        return new BookVersionMismatchException(id, current, expectedVersion);
     }
 
-    private BookResponseDto mapToDto(Book book) {
-        return new BookResponseDto(book.getId(), book.getTitle(), book.getAuthor(), book.getDescription());
+    BookResponseDto mapToDto(Book book) {
+        return new BookResponseDto(book.getId(), book.getTitle(), book.getAuthor(), book.getDescription(),
+                book.getVersion());
     }
 }
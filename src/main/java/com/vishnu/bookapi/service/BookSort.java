@@ -0,0 +1,85 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.exception.UnsupportedSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/**
+ * The order of a filtered book listing, parsed from {@code sort=<field>[,asc|desc]}. Ties are broken by id in the same
+ * direction, so the order is total and pages can continue from a cursor, and an index on the sort column followed by
+ * id can be read in either direction.
+ */
+public record BookSort(Field field, Sort.Direction direction) {
+
+    public static final BookSort DEFAULT = new BookSort(Field.ID, Sort.Direction.ASC);
+    public static final BookSort BY_TITLE = new BookSort(Field.TITLE, Sort.Direction.ASC);
+
+    public enum Field {
+        ID, TITLE, AUTHOR;
+
+        public String property() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @return null if no sort is given, leaving the order to {@link #resolve}
+     * @throws UnsupportedSortException unless the field is id, title or author and the direction asc or desc
+     */
+    public static BookSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        String[] parts = sort.split(",", -1);
+        if (parts.length > 2) {
+            throw unsupported(sort);
+        }
+        try {
+            Field field = Field.valueOf(parts[0].strip().toUpperCase(Locale.ROOT));
+            Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].strip())
+                    : Sort.Direction.ASC;
+            return new BookSort(field, direction);
+        } catch (IllegalArgumentException ex) {
+            throw unsupported(sort);
+        }
+    }
+
+    /**
+     * The order for a listing with the given filters: {@code requested}, or else title when only a title prefix is
+     * given and id otherwise.
+     *
+     * @throws UnsupportedSortException for id order with only a title prefix. No index serves it: the database would
+     *                                  walk the primary key and check every title after the cursor.
+     */
+    public static BookSort resolve(BookSort requested, boolean byAuthor, boolean byTitlePrefix) {
+        boolean titlePrefixOnly = byTitlePrefix && !byAuthor;
+        if (requested == null) {
+            return titlePrefixOnly ? BY_TITLE : DEFAULT;
+        }
+        if (titlePrefixOnly && requested.field() == Field.ID) {
+            throw new UnsupportedSortException("Unsupported sort: id with only titlePrefix. Sort by title or author, " +
+                    "or filter by author as well");
+        }
+        return requested;
+    }
+
+    public Sort toSort() {
+        Sort byId = Sort.by(direction, Field.ID.property());
+        return field == Field.ID ? byId : Sort.by(direction, field.property()).and(byId);
+    }
+
+    public String keyOf(BookResponseDto book) {
+        return switch (field) {
+            case ID -> book.id().toString();
+            case TITLE -> book.title();
+            case AUTHOR -> book.author();
+        };
+    }
+
+    private static UnsupportedSortException unsupported(String sort) {
+        return new UnsupportedSortException("Unsupported sort: " + sort + ". Use id, title or author, " +
+                "optionally followed by ,asc or ,desc");
+    }
+}
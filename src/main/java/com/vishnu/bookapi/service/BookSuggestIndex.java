@@ -0,0 +1,147 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
+import com.vishnu.bookapi.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Prefix index over normalized book titles and authors for type-ahead. Keys are kept sorted in a skip list, so the
+ * completions of a prefix are the contiguous key range starting at it and a lookup reads only the entries it returns.
+ * Readers never block; writers are serialized and keep the index current from {@link BookChangedEvent}s.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSuggestIndex {
+
+    // Sorts before every character a normalized key can contain, so "java" + SEPARATOR precedes "java 8"
+    private static final char SEPARATOR = '\u0000';
+
+    private final BookRepository bookRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // normalized text + SEPARATOR + field initial -> suggestion
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    // book id -> its title and author keys, used to release them when the book changes
+    private final Map<Long, String[]> bookKeys = new HashMap<>();
+    // Ids written while the initial build is running; the build must not overwrite them with older rows
+    private Set<Long> changedDuringBuild;
+
+    private record Entry(String text, BookSuggestionDto.Field field, int books) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        synchronized (this) {
+            changedDuringBuild = new HashSet<>();
+        }
+        long start = System.nanoTime();
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookResponseDto> books = bookRepository.streamAllForExport()) {
+                books.forEach(book -> {
+                    synchronized (this) {
+                        if (!changedDuringBuild.contains(book.id())) {
+                            add(book);
+                        }
+                    }
+                });
+            }
+        });
+        synchronized (this) {
+            changedDuringBuild = null;
+            log.info("Suggestion index built with {} entries in {} ms",
+                    entries.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (changedDuringBuild != null) {
+            changedDuringBuild.add(event.bookId());
+        }
+        remove(event.bookId());
+        if (event.type() != BookChangedEvent.Type.DELETED) {
+            add(event.book());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} titles and authors starting with {@code prefix}, in alphabetical order.
+     */
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = BookSearchIndex.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        NavigableMap<String, Entry> range = entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        List<BookSuggestionDto> suggestions = new ArrayList<>(Math.min(limit, 16));
+        for (Entry entry : range.values()) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(new BookSuggestionDto(entry.text(), entry.field(), entry.books()));
+        }
+        return suggestions;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void add(BookResponseDto book) {
+        String titleKey = acquire(book.title(), BookSuggestionDto.Field.TITLE);
+        String authorKey = acquire(book.author(), BookSuggestionDto.Field.AUTHOR);
+        if (titleKey != null || authorKey != null) {
+            bookKeys.put(book.id(), new String[]{titleKey, authorKey});
+        }
+    }
+
+    private void remove(Long bookId) {
+        String[] keys = bookKeys.remove(bookId);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            if (key != null) {
+                entries.computeIfPresent(key, (k, entry) ->
+                        entry.books() == 1 ? null : new Entry(entry.text(), entry.field(), entry.books() - 1));
+            }
+        }
+    }
+
+    private String acquire(String text, BookSuggestionDto.Field field) {
+        String normalized = BookSearchIndex.normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String key = normalized + SEPARATOR + field.name().charAt(0);
+        // Reuse the map's key instance so books sharing a title or author don't each hold a copy of it
+        String existing = entries.ceilingKey(key);
+        if (key.equals(existing)) {
+            key = existing;
+        }
+        entries.merge(key, new Entry(text.strip(), field, 1),
+                (current, added) -> new Entry(current.text(), current.field(), current.books() + 1));
+        return key;
+    }
+}
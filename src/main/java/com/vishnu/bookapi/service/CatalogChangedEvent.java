@@ -0,0 +1,9 @@
+package com.vishnu.bookapi.service;
+
+/**
+ * Published after the {@link CatalogVersion} moves, once the writing transaction has committed.
+ *
+ * @param version the new catalog version
+ */
+public record CatalogChangedEvent(String version) {
+}
@@ -0,0 +1,161 @@
+package com.vishnu.bookapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized first pages of {@code GET /api/books}, kept per page size as JSON and gzip bytes and tagged with the
+ * catalog version they were read at. A snapshot is only served while its version is current. After a write, the
+ * snapshots are rebuilt on a background thread; writes that arrive during a rebuild share one follow-up rebuild.
+ * A request that finds no current snapshot builds one itself and installs it.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshots {
+
+    static final String MESSAGE = "Books fetched successfully";
+
+    /**
+     * One serialized page. The arrays are never modified once built.
+     */
+    public record Snapshot(String version, byte[] json, byte[] gzip) {
+    }
+
+    private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-snapshot").daemon().factory());
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer buildTimer;
+
+    public CatalogSnapshots(BookService bookService, CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.bookService = bookService;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.hits = requestCounter("hit", meterRegistry);
+        this.misses = requestCounter("miss", meterRegistry);
+        this.buildTimer = Timer.builder("catalog.snapshot.build")
+                .description("Time spent querying, serializing and compressing one catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the first page of up to {@code limit} books as of the current catalog version or newer.
+     */
+    public Snapshot firstPage(int limit) {
+        int pageSize = Math.clamp(limit, 1, BookServiceImpl.MAX_PAGE_SIZE);
+        // Taken before any query, so a snapshot built here can only be newer than its version claims
+        String version = catalogVersion.current();
+        Snapshot snapshot = snapshots.get(pageSize);
+        if (snapshot != null && snapshot.version().equals(version)) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        snapshot = build(pageSize, version);
+        install(pageSize, snapshot);
+        return snapshot;
+    }
+
+    @EventListener
+    void onCatalogChanged(CatalogChangedEvent event) {
+        if (snapshots.isEmpty() || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            // Cleared before reading the version, so a write landing during the rebuild schedules another one
+            rebuildPending.set(false);
+            String version = catalogVersion.current();
+            for (Integer pageSize : snapshots.keySet()) {
+                try {
+                    install(pageSize, build(pageSize, version));
+                } catch (RuntimeException ex) {
+                    // The next request for this page size builds it instead
+                    log.warn("Failed to rebuild catalog snapshot of {} books: {}", pageSize, ex.getMessage());
+                }
+            }
+        });
+    }
+
+    Snapshot stored(int pageSize) {
+        return snapshots.get(pageSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void install(int pageSize, Snapshot snapshot) {
+        // Keep a snapshot that is already current rather than replacing it with one built at an older version
+        snapshots.compute(pageSize, (key, existing) ->
+                existing != null && existing.version().equals(catalogVersion.current()) ? existing : snapshot);
+    }
+
+    private Snapshot build(int pageSize, String version) {
+        return buildTimer.record(() -> {
+            BookPageDto page = bookService.getBooks(null, pageSize);
+            ApiResponse<List<BookResponseDto>> response = ApiResponse.<List<BookResponseDto>>builder()
+                    .success(true)
+                    .data(page.books())
+                    .message(MESSAGE)
+                    .nextCursor(page.nextCursor())
+                    .build();
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(response);
+                return new Snapshot(version, json, gzip(json));
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        // Compressed once per catalog change, so spend the extra CPU on the smallest output
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Counter requestCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("catalog.snapshot.requests")
+                .description("First-page catalog requests served from a current snapshot (hit) or built inline (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
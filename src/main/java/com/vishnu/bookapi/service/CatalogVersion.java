@@ -0,0 +1,103 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.entity.CatalogState;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Change counter for the whole catalog, used as the list endpoint's ETag. Moved by {@link CatalogVersionListener} on
+ * every book insert, update and delete made through JPA, including direct repository calls.
+ * <p>
+ * The counter is the {@code catalog_state} row, bumped inside the writing transaction, so every instance sharing the
+ * database agrees on it. Writers serialize on that row from their first book change until they commit. Readers use
+ * the last value this instance read or wrote for up to {@code catalog.version.max-staleness}, then read the row
+ * again from the primary: a write made on another instance shows up here within that window, and one made here at
+ * once. A reader that takes the version before querying can only see data at least as new as that version, never
+ * older. Each move seen by this instance publishes a {@link CatalogChangedEvent}.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String SELECT = "select version from catalog_state where id = " + CatalogState.ID;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObservedCatalogVersion observed;
+
+    /**
+     * @param primaryDataSource the primary's pool, the only Hikari pool registered as a bean also when read replicas
+     *                          are configured. Reading the version through it neither lands on a lagging replica nor
+     *                          counts as a write for the replica routing.
+     */
+    public CatalogVersion(JdbcTemplate jdbcTemplate, HikariDataSource primaryDataSource,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${catalog.version.max-staleness:1s}") Duration maxStaleness) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.eventPublisher = eventPublisher;
+        this.observed = new ObservedCatalogVersion(maxStaleness);
+    }
+
+    public String current() {
+        long version = observed.fresh();
+        if (version != ObservedCatalogVersion.NONE) {
+            return Long.toString(version);
+        }
+        // Concurrent readers may each refresh; the row is a primary key lookup
+        advance(read(primaryJdbcTemplate));
+        return Long.toString(observed.get());
+    }
+
+    void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(bump());
+            return;
+        }
+        // One bump per transaction, however many books it writes
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        long version = bump();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersion.this);
+                if (status == STATUS_COMMITTED) {
+                    advance(version);
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves the row in the current transaction, if any, and returns its new value. The update holds the row lock, so
+     * the read that follows sees this transaction's value.
+     */
+    private long bump() {
+        jdbcTemplate.update("update catalog_state set version = version + 1 where id = ?", CatalogState.ID);
+        return read(jdbcTemplate);
+    }
+
+    private static long read(JdbcTemplate template) {
+        // Missing only before DataInitializer has seeded it
+        return template.queryForList(SELECT, Long.class).stream().findFirst().orElse(0L);
+    }
+
+    /**
+     * Publishes the change if the version moved past the last one this instance saw.
+     */
+    private void advance(long version) {
+        if (observed.advance(version)) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(Long.toString(version)));
+        }
+    }
+}
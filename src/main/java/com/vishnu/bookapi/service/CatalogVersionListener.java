@@ -0,0 +1,23 @@
+package com.vishnu.bookapi.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code Book} entity listener. Hibernate creates its own instance through Spring, so the counter lives in the
+ * {@link CatalogVersion} singleton rather than here.
+ */
+@RequiredArgsConstructor
+public class CatalogVersionListener {
+
+    private final CatalogVersion catalogVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onBookWritten(Object book) {
+        catalogVersion.changed();
+    }
+}
@@ -0,0 +1,140 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.exception.BookImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 style CSV reader. The first record is a header naming the {@code title}, {@code author} and optional
+ * {@code description} columns in any order. Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvBookRowReader implements BookRowReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean unterminatedQuote;
+    private long rowNumber;
+    private int titleColumn = -1;
+    private int authorColumn = -1;
+    private int descriptionColumn = -1;
+
+    CsvBookRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        if (titleColumn < 0) {
+            readHeader();
+        }
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (isBlank(fields));
+        rowNumber++;
+        if (unterminatedQuote) {
+            return BookRow.malformed(rowNumber, "Unterminated quoted field");
+        }
+        return BookRow.parsed(rowNumber, new BookRequestDto(
+                field(fields, titleColumn),
+                field(fields, authorColumn),
+                field(fields, descriptionColumn)));
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null || unterminatedQuote) {
+            throw new BookImportException("CSV upload must start with a header row");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == BYTE_ORDER_MARK) {
+                name = name.substring(1);
+            }
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "title" -> titleColumn = i;
+                case "author" -> authorColumn = i;
+                case "description" -> descriptionColumn = i;
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        if (titleColumn < 0 || authorColumn < 0) {
+            throw new BookImportException("CSV header must contain 'title' and 'author' columns");
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminatedQuote = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.getFirst().isBlank();
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size() || fields.get(column).isEmpty()) {
+            return null;
+        }
+        return fields.get(column);
+    }
+}
@@ -0,0 +1,44 @@
+package com.vishnu.bookapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vishnu.bookapi.dto.BookRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one JSON object per line. Each line is parsed on its own so a malformed line only rejects that row.
+ */
+class NdjsonBookRowReader implements BookRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long rowNumber;
+
+    NdjsonBookRowReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(BookRequestDto.class);
+    }
+
+    @Override
+    public BookRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        rowNumber++;
+        try {
+            BookRequestDto book = objectReader.readValue(line);
+            if (book == null) {
+                return BookRow.malformed(rowNumber, "Expected a JSON object");
+            }
+            return BookRow.parsed(rowNumber, book);
+        } catch (JsonProcessingException ex) {
+            return BookRow.malformed(rowNumber, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.vishnu.bookapi.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The highest catalog version one instance has read or written, and when. {@link CatalogVersion} and the reactive
+ * stack's counterpart serve it without a query for up to {@code maxStaleness}, then read the {@code catalog_state} row
+ * again.
+ */
+public final class ObservedCatalogVersion {
+
+    public static final long NONE = -1;
+
+    /**
+     * A version and when this instance learned it, on the {@link System#nanoTime()} clock.
+     */
+    private record Observed(long version, long atNanos) {
+    }
+
+    private final long maxStalenessNanos;
+    private final AtomicReference<Observed> observed;
+
+    public ObservedCatalogVersion(Duration maxStaleness) {
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.observed = new AtomicReference<>(new Observed(NONE, System.nanoTime() - maxStalenessNanos));
+    }
+
+    /**
+     * Returns the version if it was seen within {@code maxStaleness}, otherwise {@link #NONE}.
+     */
+    public long fresh() {
+        Observed last = observed.get();
+        return System.nanoTime() - last.atNanos() < maxStalenessNanos ? last.version() : NONE;
+    }
+
+    /**
+     * Records a version read or written just now, keeping the highest one seen.
+     *
+     * @return {@code true} if it is newer than the version seen before, and one had been seen
+     */
+    public boolean advance(long version) {
+        long now = System.nanoTime();
+        Observed previous = observed.getAndUpdate(last -> new Observed(Math.max(last.version(), version), now));
+        return previous.version() != NONE && version > previous.version();
+    }
+
+    public long get() {
+        return observed.get().version();
+    }
+}
@@ -0,0 +1,25 @@
+package com.vishnu.bookapi.tracing;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks when a controller call enters its proxy, ahead of the {@code @PreAuthorize} check. Together with the
+ * innermost advice in {@link RequestTracingAspect} this gives the time spent in method security.
+ */
+@Aspect
+@Component
+// After ExposeInvocationInterceptor, which AspectJ advice needs, and before @PreAuthorize at 200
+@Order(0)
+public class ControllerEntryAspect {
+
+    @Before("within(com.vishnu.bookapi.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public void controllerEntered() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.controllerEntered();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.vishnu.bookapi.tracing;
+
+import com.vishnu.bookapi.dto.RequestTraceDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span timings of the request handled on the current thread. Spans of the same kind add up, so a request that runs
+ * three queries reports their combined time with a count of three. Recording is a thread-local lookup and two array
+ * writes; when no request is being traced, {@link #record} does nothing.
+ */
+public final class RequestTrace {
+
+    public enum Span {
+        JWT("jwt", "JWT verification"),
+        USER("user", "User lookup"),
+        AUTHZ("authz", "Method security"),
+        HANDLER("handler", "Controller"),
+        SERVICE("service", "BookService"),
+        DB("db", "Repository calls"),
+        WRITE("write", "Response serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Span(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Span[] SPANS = Span.values();
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final long[] durations = new long[SPANS.length];
+    private final int[] counts = new int[SPANS.length];
+    private long controllerEntryNanos;
+    private long writeStartNanos;
+    private long totalNanos;
+
+    private RequestTrace() {
+    }
+
+    static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Detaches the trace from the thread and stops its clock, closing the write span if the body was written.
+     */
+    void finish() {
+        CURRENT.remove();
+        long now = System.nanoTime();
+        totalNanos = now - startNanos;
+        if (writeStartNanos != 0) {
+            add(Span.WRITE, now - writeStartNanos);
+        }
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds {@code nanos} to the span of the request on this thread, if it is being traced.
+     */
+    public static void record(Span span, long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(span, nanos);
+        }
+    }
+
+    void add(Span span, long nanos) {
+        durations[span.ordinal()] += nanos;
+        counts[span.ordinal()]++;
+    }
+
+    void controllerEntered() {
+        controllerEntryNanos = System.nanoTime();
+    }
+
+    long controllerEntryNanos() {
+        return controllerEntryNanos;
+    }
+
+    void writeStarted() {
+        writeStartNanos = System.nanoTime();
+    }
+
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    long duration(Span span) {
+        return durations[span.ordinal()];
+    }
+
+    int count(Span span) {
+        return counts[span.ordinal()];
+    }
+
+    /**
+     * Formats the spans recorded so far plus the elapsed time as a {@code Server-Timing} header value, for example
+     * {@code jwt;dur=0.021, db;dur=0.310;desc="2 calls", app;dur=0.842}.
+     */
+    String serverTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Span span : SPANS) {
+            int count = counts[span.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(span.metricName).append(";dur=");
+            appendMillis(header, durations[span.ordinal()]);
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        header.append("app;dur=");
+        appendMillis(header, System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    RequestTraceDto toDto(String method, String path, int status) {
+        List<RequestTraceDto.SpanTiming> spans = new ArrayList<>(SPANS.length);
+        for (Span span : SPANS) {
+            int count = counts[span.ordinal()];
+            if (count > 0) {
+                spans.add(new RequestTraceDto.SpanTiming(span.metricName, span.description,
+                        toMillis(durations[span.ordinal()]), count));
+            }
+        }
+        return new RequestTraceDto(method, path, status, startedAt, toMillis(totalNanos), spans);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000.0 / 1_000.0;
+    }
+
+    /**
+     * Appends nanoseconds as milliseconds with three decimals, without the cost of {@code String.format}.
+     */
+    private static void appendMillis(StringBuilder builder, long nanos) {
+        long micros = Math.max(0, nanos) / 1_000;
+        long fraction = micros % 1_000;
+        builder.append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            builder.append('0');
+        }
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+}
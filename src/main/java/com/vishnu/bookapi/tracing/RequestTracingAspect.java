@@ -0,0 +1,58 @@
+package com.vishnu.bookapi.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times controller bodies, {@code BookService} calls and repository calls of the traced request. Runs innermost, so
+ * controller time excludes method security, and service time covers only calls that miss the {@code books} cache.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RequestTracingAspect {
+
+    @Around("within(com.vishnu.bookapi.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        if (trace.controllerEntryNanos() != 0) {
+            trace.add(RequestTrace.Span.AUTHZ, start - trace.controllerEntryNanos());
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.add(RequestTrace.Span.HANDLER, System.nanoTime() - start);
+        }
+    }
+
+    @Around("execution(* com.vishnu.bookapi.service.BookService.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTrace.Span.SERVICE, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTrace.Span.DB, joinPoint);
+    }
+
+    private static Object timed(RequestTrace.Span span, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.add(span, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.vishnu.bookapi.tracing;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts a {@link RequestTrace} ahead of the security filter chain and hands the finished trace to the
+ * {@link SlowTraceBuffer}. Responses with a body get their {@code Server-Timing} header from
+ * {@link ServerTimingResponseAdvice} just before serialization; bodiless responses get it here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    private final SlowTraceBuffer slowTraceBuffer;
+    private final boolean enabled;
+
+    public RequestTracingFilter(SlowTraceBuffer slowTraceBuffer,
+                                @Value("${request-tracing.enabled:true}") boolean enabled) {
+        this.slowTraceBuffer = slowTraceBuffer;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            trace.finish();
+            // Streamed exports finish on another thread; their timing is not meaningful here
+            if (!request.isAsyncStarted()) {
+                if (!response.isCommitted() && !response.containsHeader(RequestTrace.SERVER_TIMING)) {
+                    response.addHeader(RequestTrace.SERVER_TIMING, trace.serverTiming());
+                }
+                slowTraceBuffer.offer(trace, request.getMethod(), request.getRequestURI(), response.getStatus());
+            }
+        }
+    }
+}
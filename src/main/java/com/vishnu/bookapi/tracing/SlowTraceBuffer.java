@@ -0,0 +1,57 @@
+package com.vishnu.bookapi.tracing;
+
+import com.vishnu.bookapi.dto.RequestTraceDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the slowest requests seen since startup or the last {@link #clear()}. Once full, a request only takes the
+ * lock if it is slower than the fastest trace kept, so the common case is a single volatile read.
+ */
+@Component
+public class SlowTraceBuffer {
+
+    private final int capacity;
+    private final PriorityQueue<RequestTraceDto> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(RequestTraceDto::totalMillis));
+    private volatile long admissionThresholdNanos;
+
+    public SlowTraceBuffer(@Value("${request-tracing.slowest-traces:50}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(RequestTrace trace, String method, String path, int status) {
+        if (capacity <= 0 || trace.totalNanos() <= admissionThresholdNanos) {
+            return;
+        }
+        RequestTraceDto dto = trace.toDto(method, path, status);
+        synchronized (this) {
+            slowest.add(dto);
+            if (slowest.size() > capacity) {
+                slowest.poll();
+            }
+            if (slowest.size() == capacity) {
+                admissionThresholdNanos = (long) (slowest.peek().totalMillis() * 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Returns the kept traces, slowest first.
+     */
+    public synchronized List<RequestTraceDto> slowest() {
+        List<RequestTraceDto> traces = new ArrayList<>(slowest);
+        traces.sort(Comparator.comparingDouble(RequestTraceDto::totalMillis).reversed());
+        return traces;
+    }
+
+    public synchronized void clear() {
+        slowest.clear();
+        admissionThresholdNanos = 0;
+    }
+}
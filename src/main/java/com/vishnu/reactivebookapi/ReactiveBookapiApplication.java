@@ -0,0 +1,38 @@
+package com.vishnu.reactivebookapi;
+
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.VerifiedTokenCache;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The WebFlux and R2DBC variant of the book API. It serves the same {@code /api/auth} and {@code /api/books} contract
+ * from the same tables and tokens, and shares the DTOs, exceptions and JWT handling with the servlet application,
+ * which lives in a sibling package so neither scans the other. Started by its own {@link #main}, which activates the
+ * {@value #PROFILE} profile; the profile's properties switch Spring Boot to a reactive web server.
+ */
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@Import({JwtUtil.class, VerifiedTokenCache.class})
+public class ReactiveBookapiApplication {
+
+    public static final String PROFILE = "reactive";
+
+    /**
+     * Spring Boot prefers Tomcat when it is on the classpath, which it is for the servlet application. Netty serves
+     * every connection from a few event loop threads instead of a thread per request.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveBookapiApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
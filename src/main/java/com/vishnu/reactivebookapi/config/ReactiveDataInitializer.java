@@ -0,0 +1,59 @@
+package com.vishnu.reactivebookapi.config;
+
+import com.vishnu.reactivebookapi.entity.RoleRow;
+import com.vishnu.reactivebookapi.entity.UserRow;
+import com.vishnu.reactivebookapi.repository.ReactiveRoleRepository;
+import com.vishnu.reactivebookapi.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates the same default roles and users as {@link com.vishnu.bookapi.config.DataInitializer}. Blocks once on
+ * startup, before the server accepts requests.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDataInitializer implements CommandLineRunner {
+
+    private final ReactiveRoleRepository roleRepository;
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    @Value("${ADMIN_PASSWORD}")
+    private String adminPassword;
+    @Value("${USER_PASSWORD}")
+    private String userPassword;
+
+    @Override
+    public void run(String... args) {
+        log.info("Initializing default roles and users...");
+        Mono.zip(createRoleIfNotFound("ROLE_ADMIN"), createRoleIfNotFound("ROLE_USER"))
+                .flatMap(roles -> createUserIfNotFound("admin", adminPassword, roles.getT1(), roles.getT2())
+                        .then(createUserIfNotFound("user", userPassword, roles.getT2())))
+                .block();
+    }
+
+    private Mono<RoleRow> createRoleIfNotFound(String roleName) {
+        return roleRepository.findByName(roleName)
+                .switchIfEmpty(Mono.defer(() -> roleRepository.save(new RoleRow(null, roleName))
+                        .doOnNext(role -> log.info("Created role: {}", roleName))));
+    }
+
+    private Mono<Void> createUserIfNotFound(String username, String password, RoleRow... roles) {
+        return userRepository.findByUsername(username)
+                .doOnNext(user -> log.info("User '{}' already exists.", username))
+                .switchIfEmpty(Mono.defer(() -> userRepository.save(
+                                new UserRow(null, username, passwordEncoder.encode(password)))
+                        .flatMap(user -> Flux.fromArray(roles)
+                                .concatMap(role -> userRepository.addRole(user.id(), role.id()))
+                                .then(Mono.just(user)))
+                        .doOnNext(user -> log.info("User created with username: '{}'", username))))
+                .then();
+    }
+}
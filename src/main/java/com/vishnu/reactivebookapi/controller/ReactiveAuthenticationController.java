@@ -0,0 +1,71 @@
+package com.vishnu.reactivebookapi.controller;
+
+import com.vishnu.bookapi.controller.AuthenticationController.AuthRequest;
+import com.vishnu.bookapi.controller.AuthenticationController.AuthResponse;
+import com.vishnu.bookapi.controller.AuthenticationController.RefreshRequest;
+import com.vishnu.bookapi.controller.AuthenticationController.RefreshResponse;
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import com.vishnu.reactivebookapi.security.R2dbcUserDetailsService;
+import com.vishnu.reactivebookapi.security.ReactiveTokenRevocationList;
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link com.vishnu.bookapi.controller.AuthenticationController}, with the same request and
+ * response payloads.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthenticationController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final R2dbcUserDetailsService userDetailsService;
+    private final JwtUtil jwtUtil;
+    private final ReactiveTokenRevocationList tokenRevocationList;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> createAuthenticationToken(
+            @RequestBody AuthRequest authRequest) {
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword()))
+                .map(authentication -> (UserDetails) authentication.getPrincipal())
+                .map(userDetails -> ResponseEntity.ok(ApiResponse.<AuthResponse>builder()
+                        .success(true)
+                        .data(new AuthResponse(jwtUtil.generateToken(userDetails),
+                                jwtUtil.generateRefreshToken(userDetails)))
+                        .message("Login successful")
+                        .build()));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<ApiResponse<RefreshResponse>>> refreshToken(@RequestBody RefreshRequest refreshRequest) {
+        return Mono.fromCallable(() -> {
+                    VerifiedToken refreshToken = jwtUtil.parseToken(refreshRequest.getRefreshToken());
+                    if (tokenRevocationList.isRevoked(refreshToken.id())) {
+                        throw new JwtAuthenticationException("Token has been revoked");
+                    }
+                    return refreshToken;
+                })
+                .flatMap(refreshToken -> userDetailsService.findByUsername(refreshToken.username())
+                        .switchIfEmpty(Mono.error(() ->
+                                new UsernameNotFoundException("User not found: " + refreshToken.username()))))
+                .map(userDetails -> ResponseEntity.ok(ApiResponse.<RefreshResponse>builder()
+                        .success(true)
+                        .data(new RefreshResponse(jwtUtil.generateToken(userDetails)))
+                        .message("Token refreshed successfully")
+                        .build()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.vishnu.reactivebookapi.controller;
+
+import com.vishnu.bookapi.controller.BookETags;
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.dto.BookPatchDto;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.reactivebookapi.service.ReactiveBookService;
+import com.vishnu.bookapi.service.BookSort;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The {@code /api/books} contract of {@link com.vishnu.bookapi.controller.BookController} on WebFlux: the same
+ * paths, roles, statuses, {@link BookETags} and {@link ApiResponse} bodies for creating, reading, updating and deleting
+ * books, and for listing them filtered by author and title prefix and sorted by id, title or author. Listings carry
+ * the catalog version as their ETag and answer {@code If-None-Match} with 304, but are never gzip-compressed. Search,
+ * suggestions, bulk import and export are only served by the servlet application.
+ */
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<BookResponseDto>>> addBook(
+            @Valid @RequestBody BookRequestDto bookRequestDto) {
+        log.info("Admin adding a new book");
+        return bookService.addBook(bookRequestDto)
+                .map(createdBook -> new ResponseEntity<>(response(createdBook, "Book created successfully"),
+                        HttpStatus.CREATED));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<BookResponseDto>>> updateBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookRequestDto bookRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Admin updating book with id: {}", id);
+        return Mono.defer(() -> bookService.updateBook(id, bookRequestDto, BookETags.parseIfMatch(ifMatch)))
+                .map(updatedBook -> ResponseEntity.ok().eTag(BookETags.of(updatedBook))
+                        .body(response(updatedBook, "Book updated successfully")));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<BookResponseDto>>> patchBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookPatchDto bookPatchDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Admin patching book with id: {}", id);
+        return Mono.defer(() -> bookService.patchBook(id, bookPatchDto, BookETags.parseIfMatch(ifMatch)))
+                .map(updatedBook -> ResponseEntity.ok().eTag(BookETags.of(updatedBook))
+                        .body(response(updatedBook, "Book updated successfully")));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<String>>> deleteBook(@PathVariable Long id) {
+        log.info("Admin deleting book with id: {}", id);
+        return bookService.deleteBook(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(ApiResponse.<String>builder()
+                        .success(true)
+                        .message("Book deleted successfully")
+                        .build())));
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<BookResponseDto>>> getBook(@PathVariable Long id,
+                                                                      ServerWebExchange exchange) {
+        log.info("Fetching book with id: {}", id);
+        return bookService.getBook(id)
+                // An empty result leaves the 304 that checkNotModified set, without serializing the book
+                .filter(book -> !exchange.checkNotModified(BookETags.of(book)))
+                .map(book -> ResponseEntity.ok(response(book, "Book fetched successfully")));
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<BookResponseDto>>>> getAllBooks(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String titlePrefix,
+            @RequestParam(required = false) String sort,
+            ServerWebExchange exchange) {
+        log.info("Fetching books page");
+        boolean unfiltered = author == null && titlePrefix == null && sort == null;
+        return Mono.defer(() -> {
+                    // Parsed before the conditional request check, and the version taken before the query, as in
+                    // BookController; an empty result leaves the 304 that checkNotModified set
+                    BookSort bookSort = BookSort.parse(sort);
+                    return bookService.getCatalogVersion()
+                            .filter(version -> !exchange.checkNotModified(BookETags.ofCatalog(version, false)))
+                            .flatMap(version -> unfiltered
+                                    ? bookService.getBooks(after, limit)
+                                    : bookService.findBooks(author, titlePrefix, bookSort, after, limit));
+                })
+                .map(page -> ResponseEntity.ok(ApiResponse.<List<BookResponseDto>>builder()
+                        .success(true)
+                        .data(page.books())
+                        .message("Books fetched successfully")
+                        .nextCursor(page.nextCursor())
+                        .build()));
+    }
+
+    private static ApiResponse<BookResponseDto> response(BookResponseDto book, String message) {
+        return ApiResponse.<BookResponseDto>builder()
+                .success(true)
+                .data(book)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.vishnu.reactivebookapi.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code books} table written by {@link com.vishnu.bookapi.entity.Book}. The version is managed by the
+ * repository's update statements, matching the JPA entity's {@code @Version} column.
+ */
+@Table("books")
+public record BookRow(@Id Long id, String title, String author, String description, long version) {
+}
@@ -0,0 +1,14 @@
+package com.vishnu.reactivebookapi.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * A row of the {@code revoked_tokens} table, written by the servlet application's
+ * {@link com.vishnu.bookapi.security.TokenRevocationList}.
+ */
+@Table("revoked_tokens")
+public record RevokedTokenRow(@Id String tokenId, String username, Instant expiresAt, Instant revokedAt) {
+}
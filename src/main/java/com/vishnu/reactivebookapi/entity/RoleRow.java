@@ -0,0 +1,8 @@
+package com.vishnu.reactivebookapi.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("roles")
+public record RoleRow(@Id Long id, String name) {
+}
@@ -0,0 +1,12 @@
+package com.vishnu.reactivebookapi.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code users} table. Roles live in the {@code user_roles} join table, see
+ * {@link com.vishnu.reactivebookapi.repository.ReactiveRoleRepository#findByUserId(Long)}.
+ */
+@Table("users")
+public record UserRow(@Id Long id, String username, String password) {
+}
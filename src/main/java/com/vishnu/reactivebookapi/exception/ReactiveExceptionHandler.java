@@ -0,0 +1,99 @@
+package com.vishnu.reactivebookapi.exception;
+
+import com.vishnu.bookapi.dto.ApiResponse;
+import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.exception.BookVersionMismatchException;
+import com.vishnu.bookapi.exception.InvalidCursorException;
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import com.vishnu.bookapi.exception.UnsupportedSortException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of {@link com.vishnu.bookapi.exception.GlobalExceptionHandler}, answering with the same
+ * statuses and {@link ApiResponse} bodies.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(BookNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleBookNotFoundException(BookNotFoundException ex) {
+        log.error("Book not found: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.error("Invalid cursor: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<ApiResponse<String>> handleUnsupportedSortException(UnsupportedSortException ex) {
+        log.error("Unsupported sort: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BookVersionMismatchException.class)
+    public ResponseEntity<ApiResponse<String>> handleBookVersionMismatchException(BookVersionMismatchException ex) {
+        log.error("Precondition failed: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<String>> handleValidationException(WebExchangeBindException ex) {
+        String errorMessage = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        log.error("Validation error: {}", errorMessage);
+        return error(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<String>> handleAccessDeniedException(AccessDeniedException ex,
+                                                                           ServerHttpRequest request) {
+        log.error("Access Denied for URI {}: {}", request.getPath(), ex.getMessage());
+        return error("Access Denied", HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler({AuthenticationException.class, JwtAuthenticationException.class})
+    public ResponseEntity<ApiResponse<String>> handleAuthenticationException(RuntimeException ex) {
+        log.error("Authentication error: {}", ex.getMessage());
+        return error(ex.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Malformed request bodies, unreadable parameters and unknown routes keep the status WebFlux assigned them.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<String>> handleResponseStatusException(ResponseStatusException ex) {
+        log.error("Request error: {}", ex.getMessage());
+        return error(ex.getReason(), ex.getStatusCode());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponse<String>> handleGenericException(Exception ex) {
+        log.error("Internal error: {}", ex.getMessage());
+        return error("An unexpected error occurred", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static ResponseEntity<ApiResponse<String>> error(String message, HttpStatusCode status) {
+        ApiResponse<String> response = ApiResponse.<String>builder()
+                .success(false)
+                .message(message)
+                .build();
+        return new ResponseEntity<>(response, status);
+    }
+}
@@ -0,0 +1,59 @@
+package com.vishnu.reactivebookapi.repository;
+
+import com.vishnu.bookapi.repository.BookSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.ValueFunction;
+
+/**
+ * The filters and keyset conditions of {@link BookSpecifications} as R2DBC criteria, so
+ * the reactive listing seeks the same indexes.
+ */
+public final class BookCriteria {
+
+    private BookCriteria() {
+    }
+
+    public static Criteria hasAuthor(String author) {
+        return Criteria.where("author").is(author);
+    }
+
+    /**
+     * Titles starting with the prefix, as {@code LIKE 'prefix%'} with the wildcards in the prefix escaped by the
+     * dialect's escaper. The pattern is bound, so the escape character needs no quoting in a literal.
+     */
+    public static Criteria titleStartsWith(String prefix) {
+        return Criteria.where("title").like((ValueFunction<String>) escaper -> escaper.escape(prefix) + "%");
+    }
+
+    /**
+     * See {@link BookSpecifications#titleInPrefixRange(String)}.
+     */
+    public static Criteria titleInPrefixRange(String prefix) {
+        String upperBound = BookSpecifications.successor(prefix);
+        Criteria from = Criteria.where("title").greaterThanOrEquals(prefix);
+        return upperBound == null ? from : from.and("title").lessThan(upperBound);
+    }
+
+    public static Criteria idAfter(Sort.Direction direction, Long id) {
+        return direction.isAscending() ? Criteria.where("id").greaterThan(id) : Criteria.where("id").lessThan(id);
+    }
+
+    /**
+     * See {@link BookSpecifications#after(String, Sort.Direction, String, Long)}.
+     */
+    public static Criteria after(String property, Sort.Direction direction, String key, Long id) {
+        if (key == null) {
+            return direction.isAscending()
+                    ? Criteria.where(property).isNull().and("id").greaterThan(id).or(property).isNotNull()
+                    : Criteria.where(property).isNull().and("id").lessThan(id);
+        }
+        if (direction.isAscending()) {
+            return Criteria.where(property).greaterThanOrEquals(key)
+                    .and(Criteria.where(property).greaterThan(key).or("id").greaterThan(id));
+        }
+        return Criteria.where(property).lessThanOrEquals(key)
+                .and(Criteria.where(property).lessThan(key).or("id").lessThan(id))
+                .or(Criteria.where(property).isNull());
+    }
+}
@@ -0,0 +1,58 @@
+package com.vishnu.reactivebookapi.repository;
+
+import com.vishnu.reactivebookapi.entity.BookRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same statements as {@link com.vishnu.bookapi.repository.BookRepository}, written in SQL that runs on both MySQL
+ * and H2. Writes bump the version themselves and emit the number of rows changed.
+ */
+@Repository
+public interface ReactiveBookRepository extends R2dbcRepository<BookRow, Long> {
+
+    @Query("select * from books order by id limit :limit")
+    Flux<BookRow> findFirst(int limit);
+
+    @Query("select * from books where id > :after order by id limit :limit")
+    Flux<BookRow> findAfter(long after, int limit);
+
+    @Query("select version from books where id = :id")
+    Mono<Long> findVersionById(Long id);
+
+    @Modifying
+    @Query("insert into books (id, title, author, description, version) values (:id, :title, :author, :description, 0)")
+    Mono<Integer> insert(Long id, String title, String author, String description);
+
+    @Modifying
+    @Query("update books set title = :title, author = :author, description = :description, version = version + 1 " +
+            "where id = :id")
+    Mono<Integer> updateById(Long id, String title, String author, String description);
+
+    @Modifying
+    @Query("update books set title = :title, author = :author, description = :description, version = version + 1 " +
+            "where id = :id and version = :version")
+    Mono<Integer> updateByIdAndVersion(Long id, long version, String title, String author, String description);
+
+    /**
+     * Updates only the non-null fields.
+     */
+    @Modifying
+    @Query("update books set title = coalesce(:title, title), author = coalesce(:author, author), " +
+            "description = coalesce(:description, description), version = version + 1 where id = :id")
+    Mono<Integer> patchById(Long id, String title, String author, String description);
+
+    @Modifying
+    @Query("update books set title = coalesce(:title, title), author = coalesce(:author, author), " +
+            "description = coalesce(:description, description), version = version + 1 " +
+            "where id = :id and version = :version")
+    Mono<Integer> patchByIdAndVersion(Long id, long version, String title, String author, String description);
+
+    @Modifying
+    @Query("delete from books where id = :id")
+    Mono<Integer> removeById(Long id);
+}
@@ -0,0 +1,14 @@
+package com.vishnu.reactivebookapi.repository;
+
+import com.vishnu.reactivebookapi.entity.RevokedTokenRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveRevokedTokenRepository extends R2dbcRepository<RevokedTokenRow, String> {
+
+    Flux<RevokedTokenRow> findByExpiresAtAfter(Instant now);
+}
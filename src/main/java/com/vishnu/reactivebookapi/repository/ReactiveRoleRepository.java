@@ -0,0 +1,17 @@
+package com.vishnu.reactivebookapi.repository;
+
+import com.vishnu.reactivebookapi.entity.RoleRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRoleRepository extends R2dbcRepository<RoleRow, Long> {
+
+    Mono<RoleRow> findByName(String name);
+
+    @Query("select r.* from roles r join user_roles ur on ur.role_id = r.id where ur.user_id = :userId")
+    Flux<RoleRow> findByUserId(Long userId);
+}
@@ -0,0 +1,18 @@
+package com.vishnu.reactivebookapi.repository;
+
+import com.vishnu.reactivebookapi.entity.UserRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+
+    Mono<UserRow> findByUsername(String username);
+
+    @Modifying
+    @Query("insert into user_roles (user_id, role_id) values (:userId, :roleId)")
+    Mono<Integer> addRole(Long userId, Long roleId);
+}
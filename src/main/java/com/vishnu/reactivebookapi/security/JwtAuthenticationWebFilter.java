@@ -0,0 +1,103 @@
+package com.vishnu.reactivebookapi.security;
+
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.VerifiedToken;
+import com.vishnu.bookapi.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux counterpart of {@link com.vishnu.bookapi.security.JwtRequestFilter}: authenticates bearer tokens from the
+ * roles claim and only loads the user when lookups are switched on or the token carries no roles.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final R2dbcUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ReactiveTokenRevocationList tokenRevocationList;
+    private final Timer acceptedTimer;
+    private final Timer rejectedTimer;
+    @Value("${jwt.user-lookup.enabled:false}")
+    private boolean userLookupEnabled;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, R2dbcUserDetailsService userDetailsService,
+                                      VerifiedTokenCache verifiedTokenCache,
+                                      ReactiveTokenRevocationList tokenRevocationList, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.acceptedTimer = verificationTimer("accepted", meterRegistry);
+        this.rejectedTimer = verificationTimer("rejected", meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER)) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        VerifiedToken token;
+        try {
+            token = verifiedTokenCache.verify(authorizationHeader.substring(BEARER.length()), jwtUtil::parseToken);
+            // Checked after the cache so a revocation applies to tokens that were already verified
+            if (tokenRevocationList.isRevoked(token.id())) {
+                throw new JwtAuthenticationException("Token has been revoked");
+            }
+            acceptedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (JwtAuthenticationException ex) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // Leave the request unauthenticated; protected endpoints answer 401
+            log.debug("Rejected bearer token: {}", ex.getMessage());
+            return chain.filter(exchange);
+        }
+        return resolveUser(token)
+                .map(user -> ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())))
+                // A token for a user that no longer exists leaves the request unauthenticated
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private Mono<UserDetails> resolveUser(VerifiedToken token) {
+        if (userLookupEnabled || token.roles() == null) {
+            // Lookup mode is switched on, or the token predates the roles claim
+            return userDetailsService.findByUsername(token.username());
+        }
+        return Mono.just(User.withUsername(token.username())
+                .password("")
+                .authorities(token.roles().toArray(String[]::new))
+                .build());
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.verification")
+                .description("Time spent verifying bearer tokens, including verified-token cache lookups")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.vishnu.reactivebookapi.security;
+
+import com.vishnu.reactivebookapi.entity.RoleRow;
+import com.vishnu.reactivebookapi.repository.ReactiveRoleRepository;
+import com.vishnu.reactivebookapi.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.vishnu.bookapi.security.CustomUserDetailsService}. Emits nothing for an
+ * unknown username.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveRoleRepository roleRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        log.info("Loading user: {}", username);
+        return userRepository.findByUsername(username)
+                .flatMap(user -> roleRepository.findByUserId(user.id())
+                        .map(RoleRow::name)
+                        .collectList()
+                        .map(roles -> User.withUsername(user.username())
+                                .password(user.password())
+                                .authorities(roles.toArray(String[]::new))
+                                .build()));
+    }
+}
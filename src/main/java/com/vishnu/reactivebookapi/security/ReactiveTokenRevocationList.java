@@ -0,0 +1,92 @@
+package com.vishnu.reactivebookapi.security;
+
+import com.vishnu.reactivebookapi.entity.RevokedTokenRow;
+import com.vishnu.reactivebookapi.repository.ReactiveRevokedTokenRepository;
+import com.vishnu.bookapi.security.RevokedTokenSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * R2DBC counterpart of {@link com.vishnu.bookapi.security.TokenRevocationList}: reloads the unexpired rows of
+ * {@code revoked_tokens} into a {@link RevokedTokenSet} every {@code jwt.revocation.refresh-interval}, so tokens revoked
+ * through the servlet application are rejected here too. Revoking and deleting expired rows stay with the servlet
+ * application.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@Slf4j
+public class ReactiveTokenRevocationList {
+
+    private final ReactiveRevokedTokenRepository revokedTokenRepository;
+    private final Duration refreshInterval;
+    private final Clock clock = Clock.systemUTC();
+    private final RevokedTokenSet revoked;
+    private Disposable refreshes;
+
+    public ReactiveTokenRevocationList(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                       @Value("${jwt.revocation.expected-revocations:10000}") int expectedRevocations,
+                                       @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                       @Value("${jwt.revocation.refresh-interval:30s}") Duration refreshInterval,
+                                       MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshInterval = refreshInterval;
+        this.revoked = new RevokedTokenSet(expectedRevocations, falsePositiveRate, meterRegistry);
+    }
+
+    /**
+     * Blocks once for the first load, before the server accepts requests.
+     */
+    @PostConstruct
+    void start() {
+        refresh().block();
+        refreshes = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        // Keep serving the current list; the next run retries
+                        .onErrorResume(ex -> {
+                            log.warn("Could not refresh revoked tokens: {}", ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshes.dispose();
+    }
+
+    /**
+     * Lock-free; see {@link RevokedTokenSet#contains(String)}.
+     *
+     * @param tokenId the token's {@code jti} claim, or {@code null} for tokens issued without one
+     */
+    public boolean isRevoked(String tokenId) {
+        return revoked.contains(tokenId);
+    }
+
+    /**
+     * Reloads the unexpired rows and drops entries whose token has expired.
+     */
+    public Mono<Void> refresh() {
+        Instant now = clock.instant();
+        return revokedTokenRepository.findByExpiresAtAfter(now)
+                .collectMap(RevokedTokenRow::tokenId, RevokedTokenRow::expiresAt)
+                .doOnNext(active -> {
+                    revoked.reload(active, now);
+                    log.debug("Loaded {} revoked tokens", active.size());
+                })
+                .then();
+    }
+}
@@ -0,0 +1,68 @@
+package com.vishnu.reactivebookapi.service;
+
+import com.vishnu.bookapi.entity.Book;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out book ids from the {@code book_seq} table that Hibernate uses on MySQL, which has no sequences. Each
+ * round trip reserves a block of {@link #ALLOCATION_SIZE} ids ending at the value read, the same blocks Hibernate's
+ * pooled optimizer takes, so the servlet and reactive applications can insert into one database.
+ */
+@Component
+class BookIdAllocator {
+
+    static final int ALLOCATION_SIZE = Book.ID_ALLOCATION_SIZE;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator ownTransaction;
+    // Guarded by this
+    private long next = 1;
+    private long last = 0;
+
+    BookIdAllocator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        // Commits the reservation straight away so the row lock is not held until the caller's insert commits
+        this.ownTransaction = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (next <= last) {
+                    return Mono.just(next++);
+                }
+            }
+            // Concurrent callers may each reserve a block; the ones not installed are skipped, never reused
+            return reserveBlock().map(blockEnd -> {
+                synchronized (this) {
+                    if (next > last) {
+                        last = blockEnd;
+                        next = Math.max(1, blockEnd - ALLOCATION_SIZE + 1);
+                    }
+                    return next++;
+                }
+            });
+        });
+    }
+
+    private Mono<Long> reserveBlock() {
+        return databaseClient.sql("select next_val from book_seq for update")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("book_seq has no row")))
+                .flatMap(value -> databaseClient.sql("update book_seq set next_val = :next where next_val = :value")
+                        .bind("next", value + ALLOCATION_SIZE)
+                        .bind("value", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(value))
+                .as(ownTransaction::transactional);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vishnu.reactivebookapi.service;
+
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.service.BookSort;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.vishnu.bookapi.service.BookService} for the core book operations.
+ */
+public interface ReactiveBookService {
+    Mono<BookResponseDto> addBook(BookRequestDto bookRequestDto);
+
+    /**
+     * @param expectedVersion version the caller read, or {@code null} to overwrite whatever is stored
+     */
+    Mono<BookResponseDto> updateBook(Long id, BookRequestDto bookRequestDto, Long expectedVersion);
+
+    /**
+     * A patch without fields writes nothing, as in {@link com.vishnu.bookapi.service.BookService#patchBook}.
+     *
+     * @param expectedVersion version the caller read, or {@code null} to patch whatever is stored
+     */
+    Mono<BookResponseDto> patchBook(Long id, BookPatchDto bookPatchDto, Long expectedVersion);
+
+    Mono<Void> deleteBook(Long id);
+
+    Mono<BookResponseDto> getBook(Long id);
+
+    /**
+     * See {@link com.vishnu.bookapi.service.BookService#getCatalogVersion}; both stacks read the same version.
+     */
+    Mono<String> getCatalogVersion();
+
+    /**
+     * Returns up to {@code limit} books with ids greater than the cursor, or the first page if {@code after} is empty.
+     */
+    Mono<BookPageDto> getBooks(String after, int limit);
+
+    /**
+     * See {@link com.vishnu.bookapi.service.BookService#findBooks}; cursors are interchangeable between the two.
+     */
+    Mono<BookPageDto> findBooks(String author, String titlePrefix, BookSort sort, String after, int limit);
+}
@@ -0,0 +1,212 @@
+package com.vishnu.reactivebookapi.service;
+
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.exception.BookVersionMismatchException;
+import com.vishnu.reactivebookapi.entity.BookRow;
+import com.vishnu.reactivebookapi.repository.BookCriteria;
+import com.vishnu.reactivebookapi.repository.ReactiveBookRepository;
+import com.vishnu.bookapi.service.BookCursor;
+import com.vishnu.bookapi.service.BookServiceImpl;
+import com.vishnu.bookapi.service.BookSort;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+    private final BookIdAllocator bookIdAllocator;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final ReactiveCatalogVersion catalogVersion;
+    private boolean titlePrefixAsRange;
+
+    @PostConstruct
+    void detectTitlePrefixMatching() {
+        // Same choice as BookServiceImpl: H2 cannot seek an index for a bound LIKE pattern
+        titlePrefixAsRange = entityTemplate.getDataAccessStrategy().getDialect() instanceof H2Dialect;
+    }
+
+    @Override
+    @Transactional
+    public Mono<BookResponseDto> addBook(BookRequestDto bookRequestDto) {
+        log.info("Adding new book with title: {}", bookRequestDto.title());
+        return bookIdAllocator.nextId()
+                .flatMap(id -> bookRepository.insert(id, bookRequestDto.title(), bookRequestDto.author(),
+                                bookRequestDto.description())
+                        .then(catalogVersion.changed())
+                        .thenReturn(new BookResponseDto(id, bookRequestDto.title(), bookRequestDto.author(),
+                                bookRequestDto.description(), 0L)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<BookResponseDto> updateBook(Long id, BookRequestDto bookRequestDto, Long expectedVersion) {
+        log.info("Updating book with id: {}", id);
+        Mono<Long> version;
+        if (expectedVersion == null) {
+            // The updated row stays locked until commit, so the read-back sees our own version
+            version = bookRepository.updateById(id, bookRequestDto.title(), bookRequestDto.author(),
+                            bookRequestDto.description())
+                    .flatMap(updated -> requireFound(updated, id))
+                    .then(bookRepository.findVersionById(id))
+                    .switchIfEmpty(Mono.error(() -> notFound(id)));
+        } else {
+            version = bookRepository.updateByIdAndVersion(id, expectedVersion, bookRequestDto.title(),
+                            bookRequestDto.author(), bookRequestDto.description())
+                    .flatMap(updated -> updated > 0
+                            ? Mono.just(expectedVersion + 1)
+                            : versionMismatch(id, expectedVersion));
+        }
+        return version.flatMap(newVersion -> catalogVersion.changed().thenReturn(new BookResponseDto(id,
+                bookRequestDto.title(), bookRequestDto.author(), bookRequestDto.description(), newVersion)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<BookResponseDto> patchBook(Long id, BookPatchDto bookPatchDto, Long expectedVersion) {
+        log.info("Patching book with id: {}", id);
+        if (!bookPatchDto.hasChanges()) {
+            // Nothing to change: answer from a read, so the book's version does not move
+            return getBook(id).flatMap(book -> expectedVersion == null || book.version() == expectedVersion
+                    ? Mono.just(book)
+                    : Mono.error(new BookVersionMismatchException(id, book.version(), expectedVersion)));
+        }
+        Mono<Integer> patched = expectedVersion == null
+                ? bookRepository.patchById(id, bookPatchDto.title(), bookPatchDto.author(), bookPatchDto.description())
+                .flatMap(updated -> requireFound(updated, id))
+                : bookRepository.patchByIdAndVersion(id, expectedVersion, bookPatchDto.title(), bookPatchDto.author(),
+                        bookPatchDto.description())
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : versionMismatch(id, expectedVersion));
+        return patched
+                .then(catalogVersion.changed())
+                .then(bookRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .map(ReactiveBookServiceImpl::mapToDto);
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteBook(Long id) {
+        log.info("Deleting book with id: {}", id);
+        return bookRepository.removeById(id)
+                .flatMap(deleted -> requireFound(deleted, id))
+                .then(catalogVersion.changed());
+    }
+
+    @Override
+    public Mono<BookResponseDto> getBook(Long id) {
+        log.info("Fetching book with id: {}", id);
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .map(ReactiveBookServiceImpl::mapToDto);
+    }
+
+    @Override
+    public Mono<String> getCatalogVersion() {
+        return catalogVersion.current();
+    }
+
+    @Override
+    public Mono<BookPageDto> getBooks(String after, int limit) {
+        int pageSize = Math.clamp(limit, 1, BookServiceImpl.MAX_PAGE_SIZE);
+        log.info("Fetching books after cursor: {} with limit: {}", after, pageSize);
+        return Mono.defer(() -> {
+            // Fetch one extra row to learn whether a next page exists without a count query
+            Flux<BookRow> books = (after == null || after.isBlank())
+                    ? bookRepository.findFirst(pageSize + 1)
+                    : bookRepository.findAfter(BookCursor.decode(after), pageSize + 1);
+            return books.map(ReactiveBookServiceImpl::mapToDto).collectList();
+        }).map(books -> {
+            List<BookResponseDto> page = books.size() > pageSize ? books.subList(0, pageSize) : books;
+            String nextCursor = books.size() > pageSize ? BookCursor.encode(page.getLast().id()) : null;
+            return new BookPageDto(page, nextCursor);
+        });
+    }
+
+    @Override
+    public Mono<BookPageDto> findBooks(String author, String titlePrefix, BookSort requestedSort, String after,
+                                       int limit) {
+        int pageSize = Math.clamp(limit, 1, BookServiceImpl.MAX_PAGE_SIZE);
+        return Mono.defer(() -> {
+            boolean byAuthor = StringUtils.hasText(author);
+            boolean byTitlePrefix = StringUtils.hasText(titlePrefix);
+            BookSort sort = BookSort.resolve(requestedSort, byAuthor, byTitlePrefix);
+            log.info("Fetching books by author: {}, title prefix: {}, sorted by {} after cursor: {} with limit: {}",
+                    author, titlePrefix, sort, after, pageSize);
+            // Each condition is added as a parenthesized group
+            Criteria conditions = Criteria.empty();
+            if (byAuthor) {
+                conditions = conditions.and(BookCriteria.hasAuthor(author));
+            }
+            if (byTitlePrefix) {
+                conditions = conditions.and(titlePrefixAsRange
+                        ? BookCriteria.titleInPrefixRange(titlePrefix)
+                        : BookCriteria.titleStartsWith(titlePrefix));
+            }
+            if (StringUtils.hasText(after)) {
+                if (sort.field() == BookSort.Field.ID) {
+                    conditions = conditions.and(BookCriteria.idAfter(sort.direction(), BookCursor.decode(after)));
+                } else {
+                    BookCursor.Keyed position = BookCursor.decodeKeyed(after);
+                    conditions = conditions.and(BookCriteria.after(sort.field().property(), sort.direction(),
+                            position.sortKey(), position.id()));
+                }
+            }
+            // Fetch one extra row to learn whether a next page exists without a count query
+            Query query = Query.query(conditions).sort(sort.toSort()).limit(pageSize + 1);
+            return entityTemplate.select(BookRow.class).matching(query).all()
+                    .map(ReactiveBookServiceImpl::mapToDto)
+                    .collectList()
+                    .map(books -> {
+                        List<BookResponseDto> page = books.size() > pageSize ? books.subList(0, pageSize) : books;
+                        String nextCursor = null;
+                        if (books.size() > pageSize) {
+                            BookResponseDto last = page.getLast();
+                            nextCursor = sort.field() == BookSort.Field.ID
+                                    ? BookCursor.encode(last.id())
+                                    : BookCursor.encode(last.id(), sort.keyOf(last));
+                        }
+                        return new BookPageDto(page, nextCursor);
+                    });
+        });
+    }
+
+    private static Mono<Integer> requireFound(int affectedRows, Long id) {
+        return affectedRows == 0 ? Mono.error(notFound(id)) : Mono.just(affectedRows);
+    }
+
+    private static BookNotFoundException notFound(Long id) {
+        return new BookNotFoundException("Book not found with id: " + id);
+    }
+
+    /**
+     * Explains a conditional write that matched no row; fails with {@link BookNotFoundException} if the book is gone.
+     */
+    private <T> Mono<T> versionMismatch(Long id, long expectedVersion) {
+        return bookRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(current -> Mono.error(new BookVersionMismatchException(id, current, expectedVersion)));
+    }
+
+    private static BookResponseDto mapToDto(BookRow book) {
+        return new BookResponseDto(book.id(), book.title(), book.author(), book.description(), book.version());
+    }
+}
@@ -0,0 +1,79 @@
+package com.vishnu.reactivebookapi.service;
+
+import com.vishnu.bookapi.entity.CatalogState;
+import com.vishnu.bookapi.service.ObservedCatalogVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * {@link com.vishnu.bookapi.service.CatalogVersion} over R2DBC: the same {@code catalog_state} row, bumped in the
+ * same transaction as every book write made here and read again once the last value seen is older than
+ * {@code catalog.version.max-staleness}. Both stacks therefore send the same catalog ETag for the same data.
+ */
+@Component
+public class ReactiveCatalogVersion {
+
+    private static final String SELECT = "select version from catalog_state where id = " + CatalogState.ID;
+
+    private final DatabaseClient databaseClient;
+    private final ObservedCatalogVersion observed;
+
+    public ReactiveCatalogVersion(DatabaseClient databaseClient,
+                                  @Value("${catalog.version.max-staleness:1s}") Duration maxStaleness) {
+        this.databaseClient = databaseClient;
+        this.observed = new ObservedCatalogVersion(maxStaleness);
+    }
+
+    public Mono<String> current() {
+        return Mono.defer(() -> {
+            long version = observed.fresh();
+            if (version != ObservedCatalogVersion.NONE) {
+                return Mono.just(Long.toString(version));
+            }
+            return read().map(read -> {
+                observed.advance(read);
+                return Long.toString(observed.get());
+            });
+        });
+    }
+
+    /**
+     * Bumps the row in the current transaction; this instance sees the new version once the transaction commits.
+     */
+    Mono<Void> changed() {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizations -> bump().doOnNext(version -> synchronizations.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCommit() {
+                                return Mono.fromRunnable(() -> observed.advance(version));
+                            }
+                        })))
+                .onErrorResume(NoTransactionException.class, ex -> bump().doOnNext(observed::advance))
+                .then();
+    }
+
+    /**
+     * The update holds the row lock, so the read that follows sees this transaction's value.
+     */
+    private Mono<Long> bump() {
+        return databaseClient.sql("update catalog_state set version = version + 1 where id = " + CatalogState.ID)
+                .fetch().rowsUpdated()
+                .then(read());
+    }
+
+    private Mono<Long> read() {
+        // Missing only before the row has been seeded
+        return databaseClient.sql(SELECT)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+}
@@ -0,0 +1,42 @@
+-- The tables and indexes Hibernate creates for the servlet application on MySQL, including the table that stands in for
+-- book_seq, and the catalog_state row its DataInitializer seeds. Applied to embedded databases only.
+create table if not exists roles (
+    id bigint auto_increment primary key,
+    name varchar(255) not null unique
+);
+create table if not exists users (
+    id bigint auto_increment primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null
+);
+create table if not exists user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (user_id, role_id)
+);
+create table if not exists books (
+    id bigint primary key,
+    title varchar(255) not null,
+    author varchar(255),
+    description varchar(1000),
+    version bigint not null
+);
+create index if not exists idx_books_title on books (title, id);
+create index if not exists idx_books_author on books (author, id);
+create index if not exists idx_books_author_title on books (author, title, id);
+create table if not exists revoked_tokens (
+    token_id varchar(36) primary key,
+    username varchar(255) not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null
+);
+create index if not exists idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+create table if not exists book_seq (
+    next_val bigint
+);
+insert into book_seq (next_val) select 1 from (values (1)) where not exists (select * from book_seq);
+create table if not exists catalog_state (
+    id bigint primary key,
+    version bigint not null
+);
+insert into catalog_state (id, version) select 1, 0 from (values (1)) where not exists (select * from catalog_state);
@@ -0,0 +1,497 @@
+package com.vishnu.bookapi;
+
+import com.vishnu.bookapi.controller.AuthenticationController;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import org.junit.jupiter.api.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * The {@code /api/auth} and {@code /api/books} scenarios both applications must pass, run by
+ * {@link BookapiApplicationTests} against the servlet application and by {@code ReactiveBookapiApplicationTests}
+ * against the reactive one. Deliberately left out, because only the servlet application serves them, and tested in
+ * {@link BookapiApplicationTests} alone:
+ * <ul>
+ *     <li>export, bulk import, search and suggestions</li>
+ *     <li>gzip-compressed catalog snapshots</li>
+ *     <li>the Prometheus endpoint, Server-Timing and slow traces</li>
+ *     <li>the token revocation endpoints (the reactive application only enforces revocations)</li>
+ * </ul>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public abstract class BookApiContractTests {
+
+    protected abstract WebTestClient webTestClient();
+
+    /**
+     * Removes every book without going through the API.
+     */
+    protected abstract void deleteAllBooks();
+
+    /**
+     * Stores a book without going through the API.
+     */
+    protected abstract BookResponseDto saveBook(String title, String author, String description);
+
+    /**
+     * Revokes a token the way the application's own revocations are stored, and makes it take effect at once.
+     */
+    protected abstract void revoke(String jwt);
+
+    @BeforeEach
+    void setupDatabase() {
+        deleteAllBooks();
+    }
+
+    protected String obtainAccessToken(String username, String password) {
+        return login(username, password, "accessToken");
+    }
+
+    private String login(String username, String password, String tokenField) {
+        AtomicReference<String> token = new AtomicReference<>();
+        webTestClient().post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AuthenticationController.AuthRequest(username, password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data." + tokenField).value(token::set);
+        return token.get();
+    }
+
+    private static String nextCursor(WebTestClient.BodyContentSpec body) {
+        AtomicReference<String> cursor = new AtomicReference<>();
+        body.jsonPath("$.nextCursor").value(cursor::set);
+        return cursor.get();
+    }
+
+    @Test
+    @Order(0)
+    @DisplayName("POST /api/auth/refresh issues a new access token for a valid refresh token and rejects a forged one")
+    void givenRefreshToken_whenRefresh_thenReturnNewAccessToken() {
+        String refreshToken = login("user", "userpass", "refreshToken");
+        AtomicReference<String> accessToken = new AtomicReference<>();
+        webTestClient().post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"" + refreshToken + "\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.accessToken").value(accessToken::set);
+        webTestClient().get().uri("/api/books").header("Authorization", "Bearer " + accessToken.get())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient().post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"" + refreshToken + "x\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @Order(0)
+    @DisplayName("Revoked tokens are rejected as bearer tokens and by POST /api/auth/refresh")
+    void givenRevokedTokens_whenUsed_thenReturnUnauthorized() {
+        String accessToken = obtainAccessToken("user", "userpass");
+        String refreshToken = login("user", "userpass", "refreshToken");
+        revoke(accessToken);
+        revoke(refreshToken);
+        webTestClient().get().uri("/api/books").header("Authorization", "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient().post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"" + refreshToken + "\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + obtainAccessToken("user", "userpass"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("GET /api/books without authentication returns 401 Unauthorized")
+    void givenNoAuthentication_whenGetBooks_thenReturnUnauthorized() {
+        webTestClient().get().uri("/api/books")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("ADMIN can add a new book via POST /api/books")
+    void givenAdminCredentials_whenAddBook_thenReturnCreatedBook() {
+        String token = obtainAccessToken("admin", "adminpass");
+        webTestClient().post().uri("/api/books")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("Integration Test Book", "Test Author", "Test Description"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.title").isEqualTo("Integration Test Book")
+                .jsonPath("$.data.author").isEqualTo("Test Author");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("USER cannot add a book via POST /api/books (should return 403 Forbidden)")
+    void givenUserCredentials_whenAddBook_thenReturnForbidden() {
+        String token = obtainAccessToken("user", "userpass");
+        webTestClient().post().uri("/api/books")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("Book Title", "Book Author", "Book Description"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("ADMIN can update an existing book via PUT /api/books/{id}")
+    void givenAdminCredentials_whenUpdateExistingBook_thenReturnUpdatedBook() {
+        String token = obtainAccessToken("admin", "adminpass");
+        BookResponseDto savedBook = saveBook("Old Title", "Old Author", "Old Description");
+        webTestClient().put().uri("/api/books/{id}", savedBook.id())
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("New Title", "New Author", "New Description"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.title").isEqualTo("New Title")
+                .jsonPath("$.data.author").isEqualTo("New Author");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("ADMIN updating a non-existent book returns 404 Not Found")
+    void givenAdminCredentials_whenUpdateNonexistentBook_thenReturnNotFound() {
+        String token = obtainAccessToken("admin", "adminpass");
+        webTestClient().put().uri("/api/books/{id}", 999L)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("New Title", "New Author", "New Description"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("ADMIN can delete an existing book via DELETE /api/books/{id}")
+    void givenAdminCredentials_whenDeleteExistingBook_thenReturnSuccess() {
+        String token = obtainAccessToken("admin", "adminpass");
+        BookResponseDto savedBook = saveBook("Delete Me", "Author", "Description");
+        webTestClient().delete().uri("/api/books/{id}", savedBook.id())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true);
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("ADMIN deleting a non-existent book returns 404 Not Found")
+    void givenAdminCredentials_whenDeleteNonexistentBook_thenReturnNotFound() {
+        String token = obtainAccessToken("admin", "adminpass");
+        webTestClient().delete().uri("/api/books/{id}", 999L)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("USER can fetch a book via GET /api/books/{id}")
+    void givenUserCredentials_whenGetExistingBook_thenReturnBook() {
+        String token = obtainAccessToken("user", "userpass");
+        BookResponseDto savedBook = saveBook("Fetch Me", "Author", "Description");
+        webTestClient().get().uri("/api/books/{id}", savedBook.id())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.title").isEqualTo("Fetch Me");
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("GET /api/books/{id} for a non-existent book returns 404 Not Found")
+    void givenUserCredentials_whenGetNonexistentBook_thenReturnNotFound() {
+        String token = obtainAccessToken("user", "userpass");
+        webTestClient().get().uri("/api/books/{id}", 999L)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("USER can fetch all books via GET /api/books")
+    void givenUserCredentials_whenGetAllBooks_thenReturnListOfBooks() {
+        String token = obtainAccessToken("user", "userpass");
+        saveBook("Book One", "Author One", "Desc One");
+        saveBook("Book Two", "Author Two", "Desc Two");
+        webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.length()").isEqualTo(2);
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("GET /api/books pages through the catalog with the returned cursor")
+    void givenUserCredentials_whenPagingBooks_thenFollowNextCursor() {
+        String token = obtainAccessToken("user", "userpass");
+        IntStream.rangeClosed(1, 3).forEach(i -> saveBook("Page Book " + i, "Author", "Desc"));
+        String nextCursor = nextCursor(webTestClient().get().uri("/api/books?limit=2")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].title").isEqualTo("Page Book 1")
+                .jsonPath("$.nextCursor").isNotEmpty());
+        webTestClient().get().uri("/api/books?limit=2&after={after}", nextCursor)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].title").isEqualTo("Page Book 3")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("GET /api/books with a malformed cursor returns 400 Bad Request")
+    void givenUserCredentials_whenGetBooksWithInvalidCursor_thenReturnBadRequest() {
+        String token = obtainAccessToken("user", "userpass");
+        webTestClient().get().uri("/api/books?after={after}", "not-a-cursor!")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false);
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("GET /api/books/{id} answers If-None-Match with 304 and PUT honours If-Match")
+    void givenBookETag_whenConditionalRequests_thenNotModifiedAndPreconditionFailed() {
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        BookResponseDto saved = saveBook("Versioned", "Author", null);
+        String eTag = webTestClient().get().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody()
+                .jsonPath("$.data.version").isEqualTo(0)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+        webTestClient().get().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        webTestClient().put().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("Versioned 2", "Author", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.data.version").isEqualTo(1);
+        webTestClient().put().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("Lost update", "Author", null))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false);
+        webTestClient().get().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.title").isEqualTo("Versioned 2");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("GET /api/books answers If-None-Match with 304 until any book is written")
+    void givenCatalogETag_whenBookWritten_thenETagChanges() {
+        String userToken = obtainAccessToken("user", "userpass");
+        saveBook("Catalog", "Author", null);
+        String eTag = webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody().returnResult()
+                .getResponseHeaders()
+                .getETag();
+        webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        // Writes that bypass the API still move the catalog version
+        saveBook("Catalog 2", "Author", null);
+        webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", not(eTag))
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2);
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("PATCH /api/books/{id} changes only the supplied fields, honours If-Match and returns 404 for unknown books")
+    void givenAdminCredentials_whenPatchBook_thenOnlySuppliedFieldsChange() {
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        BookResponseDto saved = saveBook("Patchable", "Author", "Kept");
+        webTestClient().patch().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"Patched\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.data.title").isEqualTo("Patched")
+                .jsonPath("$.data.author").isEqualTo("Author")
+                .jsonPath("$.data.description").isEqualTo("Kept");
+        webTestClient().patch().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"Lost update\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false);
+        String catalogETag = webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + adminToken)
+                .exchange()
+                .expectBody().returnResult()
+                .getResponseHeaders()
+                .getETag();
+        webTestClient().patch().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.data.title").isEqualTo("Patched");
+        webTestClient().get().uri("/api/books")
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-None-Match", catalogETag)
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient().patch().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient().patch().uri("/api/books/{id}", saved.id())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"author\": \"  \"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient().patch().uri("/api/books/{id}", saved.id() + 1000)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"Nobody\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Input validation: POST /api/books with invalid data returns 400 Bad Request")
+    void givenAdminCredentials_whenPostBookWithInvalidData_thenReturnBadRequest() {
+        String token = obtainAccessToken("admin", "adminpass");
+        webTestClient().post().uri("/api/books")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookRequestDto("", "Author", "Description"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.message").value(containsString("Title must not be blank"));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("GET /api/books filters by author and title prefix, sorts by title and rejects unsupported sorts")
+    void givenUserCredentials_whenFilteringBooks_thenReturnMatchingBooksInOrder() {
+        String token = obtainAccessToken("user", "userpass");
+        saveBook("Filtered B", "Filter Author", null);
+        saveBook("Filtered A", "Filter Author", null);
+        saveBook("Filtered C", "Other Author", null);
+        saveBook("Unfiltered", "Filter Author", null);
+        String nextCursor = nextCursor(webTestClient().get()
+                .uri("/api/books?author={author}&titlePrefix={prefix}&sort={sort}&limit=1",
+                        "Filter Author", "Filtered", "title,desc")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("Content-Encoding")
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].title").isEqualTo("Filtered B")
+                .jsonPath("$.nextCursor").isNotEmpty());
+        webTestClient().get()
+                .uri("/api/books?author={author}&titlePrefix={prefix}&sort={sort}&limit=1&after={after}",
+                        "Filter Author", "Filtered", "title,desc", nextCursor)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].title").isEqualTo("Filtered A")
+                .jsonPath("$.nextCursor").doesNotExist();
+        webTestClient().get().uri("/api/books?sort=description")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false);
+    }
+}
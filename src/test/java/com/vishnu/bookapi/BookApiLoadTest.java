@@ -0,0 +1,327 @@
+package com.vishnu.bookapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static com.vishnu.bookapi.LoadTestSupport.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the whole stack (security filter chain, method security, controller, JPA and JSON) over HTTP with a
+ * configurable read/write mix and reports throughput, error rate and p50/p95/p99/p999 latency per endpoint. Tagged
+ * {@code load}, so the regular build skips it; run with {@code mvn -P load test} and tune with the system properties
+ * {@code load.clients} (default 50), {@code load.seconds} (30), {@code load.warmup-seconds} (10),
+ * {@code load.books} (1000), {@code load.mix} (list=50,get=25,search=10,create=6,update=6,delete=3),
+ * {@code load.max-error-rate} (0.01) and {@code load.report} (target/load-test-report.json).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookApiLoadTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String[] WORDS = {"java", "spring", "patterns", "systems", "design", "cloud", "data",
+            "concurrency", "practice", "guide", "effective", "modern", "distributed", "testing", "secure"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookService bookService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest");
+        registry.add("logging.level.com.vishnu.bookapi", () -> "WARN");
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    private enum Operation {
+        LIST("GET /api/books"),
+        GET("GET /api/books/{id}"),
+        SEARCH("GET /api/books/search"),
+        CREATE("POST /api/books"),
+        UPDATE("PUT /api/books/{id}"),
+        DELETE("DELETE /api/books/{id}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private record Tokens(String user, String admin) {
+    }
+
+    /**
+     * Latencies in nanoseconds of the successful requests to one endpoint, plus its failure count.
+     */
+    private static final class Samples {
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /**
+     * Books the writers created and may delete again, so that reads and updates of the seeded books never see a 404.
+     */
+    private final Queue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private long[] seededIds;
+
+    @Test
+    @DisplayName("Mixed read/write load: throughput, error rate and latency percentiles per endpoint")
+    void mixedReadWriteLoad() throws Exception {
+        int clients = Integer.getInteger("load.clients", 50);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix",
+                "list=50,get=25,search=10,create=6,update=6,delete=3"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        Path report = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+        // Seed through the service so the search index sees the books too
+        seededIds = IntStream.range(0, Integer.getInteger("load.books", 1000))
+                .mapToLong(i -> bookService.addBook(randomBook(i)).id())
+                .toArray();
+        Tokens tokens = new Tokens(login(port, "user", "userpass"), login(port, "admin", "adminpass"));
+
+        run(tokens, clients, mix, warmup);
+        Map<Operation, Samples> results = run(tokens, clients, mix, duration);
+
+        Map<String, Object> summary = writeReport(report, clients, duration, mix, results);
+        double errorRate = (double) summary.get("errorRate");
+        assertTrue(errorRate <= maxErrorRate,
+                "Error rate " + errorRate + " should not exceed " + maxErrorRate + ", see " + report);
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients for {@code duration}, each picking its next request from the mix.
+     */
+    private Map<Operation, Samples> run(Tokens tokens, int clients, Map<Operation, Integer> mix, Duration duration)
+            throws Exception {
+        Operation[] operations = mix.keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += mix.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weights = totalWeight;
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Operation, Samples>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        int pick = random.nextInt(weights);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        execute(operations[index], tokens, samples.computeIfAbsent(operations[index], o -> new Samples()));
+                    }
+                    return samples;
+                }));
+            }
+        }
+        Map<Operation, Samples> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Samples>> future : futures) {
+            future.get().forEach((operation, samples) ->
+                    merged.computeIfAbsent(operation, o -> new Samples()).addAll(samples));
+        }
+        return merged;
+    }
+
+    private void execute(Operation operation, Tokens tokens, Samples samples) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seededId = seededIds[random.nextInt(seededIds.length)];
+        HttpRequest.Builder request = switch (operation) {
+            case LIST -> get("/api/books?limit=20", tokens.user());
+            case GET -> get("/api/books/" + seededId, tokens.user());
+            case SEARCH -> get("/api/books/search?q=" + WORDS[random.nextInt(WORDS.length)], tokens.user());
+            case CREATE -> send("POST", "/api/books", tokens.admin(), randomBook(random.nextInt()));
+            case UPDATE -> send("PUT", "/api/books/" + seededId, tokens.admin(), randomBook(random.nextInt()));
+            case DELETE -> {
+                Long id = deletable.poll();
+                // Nothing created yet, so there is nothing this client may delete
+                yield id == null ? null : send("DELETE", "/api/books/" + id, tokens.admin(), null);
+            }
+        };
+        if (request == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() / 100 != 2) {
+                samples.errors++;
+                return;
+            }
+            samples.record(elapsed);
+            if (operation == Operation.CREATE) {
+                deletable.add(objectMapper.readTree(response.body()).get("data").get("id").asLong());
+            }
+        } catch (IOException ex) {
+            samples.errors++;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            samples.errors++;
+        }
+    }
+
+    private Map<String, Object> writeReport(Path report, int clients, Duration duration, Map<Operation, Integer> mix,
+                                            Map<Operation, Samples> results) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        Samples total = new Samples();
+        System.out.println("endpoint                  requests    req/s  errors  p50 ms  p95 ms  p99 ms p999 ms");
+        for (Operation operation : mix.keySet()) {
+            Samples samples = results.getOrDefault(operation, new Samples());
+            total.addAll(samples);
+            Map<String, Object> row = summarize(operation.endpoint, samples, seconds);
+            endpoints.add(row);
+            System.out.printf("%-25s %8d %8.1f %7d %7.2f %7.2f %7.2f %7.2f%n", operation.endpoint,
+                    row.get("requests"), row.get("throughput"), row.get("errors"),
+                    row.get("p50Millis"), row.get("p95Millis"), row.get("p99Millis"), row.get("p999Millis"));
+        }
+        Map<String, Object> summary = summarize("total", total, seconds);
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("clients", clients);
+        document.put("durationSeconds", seconds);
+        document.put("mix", mix);
+        document.put("total", summary);
+        document.put("endpoints", endpoints);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), document);
+        System.out.printf("%d requests, %.1f req/s, error rate %.4f, report written to %s%n",
+                summary.get("requests"), summary.get("throughput"), summary.get("errorRate"), report.toAbsolutePath());
+        return summary;
+    }
+
+    private static Map<String, Object> summarize(String endpoint, Samples samples, double seconds) {
+        long[] sorted = samples.sorted();
+        long requests = sorted.length + samples.errors;
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.put("requests", requests);
+        row.put("throughput", sorted.length / seconds);
+        row.put("errors", samples.errors);
+        row.put("errorRate", requests == 0 ? 0.0 : samples.errors / (double) requests);
+        row.put("p50Millis", percentile(sorted, 0.50));
+        row.put("p95Millis", percentile(sorted, 0.95));
+        row.put("p99Millis", percentile(sorted, 0.99));
+        row.put("p999Millis", percentile(sorted, 0.999));
+        row.put("maxMillis", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+        return row;
+    }
+
+    private HttpRequest.Builder get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+    }
+
+    private HttpRequest.Builder send(String method, String path, String token, BookRequestDto body) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .method(method, publisher);
+    }
+
+    private URI uri(String path) {
+        return URI.create(base(port) + path);
+    }
+
+    private static BookRequestDto randomBook(int seed) {
+        Random random = new Random(seed);
+        return new BookRequestDto(
+                capitalize(WORDS[random.nextInt(WORDS.length)]) + " " + WORDS[random.nextInt(WORDS.length)] + " " + seed,
+                "Author " + Math.floorMod(seed, 200),
+                "A book about " + WORDS[random.nextInt(WORDS.length)] + " and " + WORDS[random.nextInt(WORDS.length)]);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -2,32 +2,43 @@ package com.vishnu.bookapi;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.vishnu.bookapi.controller.AuthenticationController;
 import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
 import com.vishnu.bookapi.entity.Book;
 import com.vishnu.bookapi.repository.BookRepository;
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.TokenRevocationList;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+/**
+ * Runs {@link BookApiContractTests} against the servlet application, plus the scenarios only it serves.
+ */
 @SpringBootTest
 @AutoConfigureMockMvc
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@AutoConfigureObservability(tracing = false)
 @DisplayName("Integration Tests for Book API")
-class BookapiApplicationTests {
+class BookapiApplicationTests extends BookApiContractTests {
 
     @Autowired
     private MockMvc mockMvc;
@@ -38,6 +49,14 @@ class BookapiApplicationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private WebTestClient webTestClient;
+
     @DynamicPropertySource
     static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
         registry.add("ADMIN_PASSWORD", () -> "adminpass");
@@ -45,179 +64,277 @@ class BookapiApplicationTests {
         registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
     }
 
-    @BeforeEach
-    void setupDatabase() {
+    @Override
+    protected WebTestClient webTestClient() {
+        if (webTestClient == null) {
+            webTestClient = MockMvcWebTestClient.bindTo(mockMvc).build();
+        }
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllBooks() {
         bookRepository.deleteAll();
     }
 
-    private String obtainAccessToken(String username, String password) throws Exception {
-        AuthenticationController.AuthRequest authRequest = new AuthenticationController.AuthRequest(username, password);
-        String loginRequestJson = objectMapper.writeValueAsString(authRequest);
-        MvcResult result = mockMvc.perform(post("/api/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(loginRequestJson))
-                .andExpect(status().isOk())
-                .andReturn();
+    @Override
+    protected BookResponseDto saveBook(String title, String author, String description) {
+        Book saved = bookRepository.save(Book.builder().title(title).author(author).description(description).build());
+        return new BookResponseDto(saved.getId(), saved.getTitle(), saved.getAuthor(), saved.getDescription(),
+                saved.getVersion());
+    }
 
-        String responseJson = result.getResponse().getContentAsString();
-        JsonNode jsonNode = objectMapper.readTree(responseJson);
-        return jsonNode.get("data").get("accessToken").asText();
+    @Override
+    protected void revoke(String jwt) {
+        tokenRevocationList.revoke(jwtUtil.parseToken(jwt));
     }
 
     @Test
-    @Order(1)
-    @DisplayName("GET /api/books without authentication returns 401 Unauthorized")
-    void givenNoAuthentication_whenGetBooks_thenReturnUnauthorized() throws Exception {
-        mockMvc.perform(get("/api/books"))
-                .andExpect(status().isUnauthorized());
+    @Order(13)
+    @DisplayName("GET /api/books/export streams every book as NDJSON")
+    void givenUserCredentials_whenExportBooks_thenStreamNdjson() throws Exception {
+        String token = obtainAccessToken("user", "userpass");
+        bookRepository.saveAll(List.of(
+                Book.builder().title("Export One").author("Author").description("Desc").build(),
+                Book.builder().title("Export Two").author("Author").description("Desc").build()));
+        MvcResult asyncResult = mockMvc.perform(get("/api/books/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Assertions.assertEquals(Duration.ofMinutes(30).toMillis(), asyncResult.getRequest().getAsyncContext().getTimeout(),
+                "The export should get its own async timeout");
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(2, lines.length, "Each book should be on its own line");
+        Assertions.assertEquals("Export One", objectMapper.readTree(lines[0]).get("title").asText());
+        Assertions.assertEquals("Export Two", objectMapper.readTree(lines[1]).get("title").asText());
     }
 
     @Test
-    @Order(2)
-    @DisplayName("ADMIN can add a new book via POST /api/books")
-    void givenAdminCredentials_whenAddBook_thenReturnCreatedBook() throws Exception {
+    @Order(14)
+    @DisplayName("ADMIN can bulk import books from CSV and gets rejected rows reported")
+    void givenAdminCredentials_whenImportCsv_thenImportValidRowsAndReportRejected() throws Exception {
         String token = obtainAccessToken("admin", "adminpass");
-        BookRequestDto newBook = new BookRequestDto("Integration Test Book", "Test Author", "Test Description");
-        mockMvc.perform(post("/api/books")
+        String csv = """
+                title,author,description
+                Imported One,Author One,Desc One
+                ,Author Two,Missing title
+                "Imported, Three",Author Three,
+                """;
+        mockMvc.perform(post("/api/books/import")
                         .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(newBook)))
-                .andExpect(status().isCreated())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data.title", is("Integration Test Book")))
-                .andExpect(jsonPath("$.data.author", is("Test Author")));
-    }
-
-    @Test
-    @Order(3)
-    @DisplayName("USER cannot add a book via POST /api/books (should return 403 Forbidden)")
-    void givenUserCredentials_whenAddBook_thenReturnForbidden() throws Exception {
-        String token = obtainAccessToken("user", "userpass");
-        BookRequestDto newBook = new BookRequestDto("Book Title", "Book Author", "Book Description");
-        mockMvc.perform(post("/api/books")
-                        .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(newBook)))
-                .andExpect(status().isForbidden());
+                .andExpect(jsonPath("$.data.processedRows", is(3)))
+                .andExpect(jsonPath("$.data.importedRows", is(2)))
+                .andExpect(jsonPath("$.data.batches", hasSize(1)))
+                .andExpect(jsonPath("$.data.rejectedRows", hasSize(1)))
+                .andExpect(jsonPath("$.data.rejectedRows[0].row", is(2)))
+                .andExpect(jsonPath("$.data.rejectedRows[0].reason", containsString("Title must not be blank")));
+        Assertions.assertEquals(2, bookRepository.count(), "Only valid rows should be imported");
     }
 
     @Test
-    @Order(4)
-    @DisplayName("ADMIN can update an existing book via PUT /api/books/{id}")
-    void givenAdminCredentials_whenUpdateExistingBook_thenReturnUpdatedBook() throws Exception {
+    @Order(15)
+    @DisplayName("ADMIN can bulk import books from NDJSON")
+    void givenAdminCredentials_whenImportNdjson_thenImportValidRows() throws Exception {
         String token = obtainAccessToken("admin", "adminpass");
-        Book existingBook = Book.builder()
-                .title("Old Title")
-                .author("Old Author")
-                .description("Old Description")
-                .build();
-        Book savedBook = bookRepository.save(existingBook);
-        BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
-        mockMvc.perform(put("/api/books/{id}", savedBook.getId())
+        String ndjson = """
+                {"title":"Json One","author":"Author One","description":"Desc"}
+                {"title":"Json Two","author":"Author Two"}
+                {not json}
+                """;
+        mockMvc.perform(post("/api/books/import")
                         .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(updateRequest)))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data.title", is("New Title")))
-                .andExpect(jsonPath("$.data.author", is("New Author")));
+                .andExpect(jsonPath("$.data.importedRows", is(2)))
+                .andExpect(jsonPath("$.data.rejectedRows[0].row", is(3)))
+                .andExpect(jsonPath("$.data.rejectedRows[0].reason", startsWith("Malformed JSON")));
+        Assertions.assertEquals(2, bookRepository.count(), "Only valid rows should be imported");
     }
 
     @Test
-    @Order(5)
-    @DisplayName("ADMIN updating a non-existent book returns 404 Not Found")
-    void givenAdminCredentials_whenUpdateNonexistentBook_thenReturnNotFound() throws Exception {
-        String token = obtainAccessToken("admin", "adminpass");
-        BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
-        mockMvc.perform(put("/api/books/{id}", 999L)
+    @Order(16)
+    @DisplayName("USER cannot bulk import books (should return 403 Forbidden)")
+    void givenUserCredentials_whenImportBooks_thenReturnForbidden() throws Exception {
+        String token = obtainAccessToken("user", "userpass");
+        mockMvc.perform(post("/api/books/import")
                         .header("Authorization", "Bearer " + token)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(updateRequest)))
-                .andExpect(status().isNotFound());
+                        .contentType("text/csv")
+                        .content("title,author\nA,B\n"))
+                .andExpect(status().isForbidden());
+        Assertions.assertEquals(0, bookRepository.count(), "Nothing should be imported");
     }
 
     @Test
-    @Order(6)
-    @DisplayName("ADMIN can delete an existing book via DELETE /api/books/{id}")
-    void givenAdminCredentials_whenDeleteExistingBook_thenReturnSuccess() throws Exception {
-        String token = obtainAccessToken("admin", "adminpass");
-        Book bookToDelete = Book.builder()
-                .title("Delete Me")
-                .author("Author")
-                .description("Description")
-                .build();
-        Book savedBook = bookRepository.save(bookToDelete);
-        mockMvc.perform(delete("/api/books/{id}", savedBook.getId())
-                        .header("Authorization", "Bearer " + token))
+    @Order(17)
+    @DisplayName("GET /api/books/search finds books written through the API and forgets deleted ones")
+    void givenUserCredentials_whenSearchBooks_thenReturnRankedMatches() throws Exception {
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        String userToken = obtainAccessToken("user", "userpass");
+        for (BookRequestDto book : List.of(
+                new BookRequestDto("Searchable Zebra Handbook", "Alice Author", "All about stripes"),
+                new BookRequestDto("Horses", "Bob Author", "Mentions a zebra once"))) {
+            mockMvc.perform(post("/api/books")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(book)))
+                    .andExpect(status().isCreated());
+        }
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("q", "zebra")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalHits", is(2)))
+                .andExpect(jsonPath("$.data.books[0].title", is("Searchable Zebra Handbook")))
+                .andExpect(jsonPath("$.data.books[1].title", is("Horses")))
+                .andReturn();
+        long horsesId = objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("data").get("books").get(1).get("id").asLong();
+        mockMvc.perform(delete("/api/books/{id}", horsesId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/search")
+                        .param("q", "zebra")
+                        .header("Authorization", "Bearer " + userToken))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.success", is(true)));
+                .andExpect(jsonPath("$.data.totalHits", is(1)));
     }
 
     @Test
-    @Order(7)
-    @DisplayName("ADMIN deleting a non-existent book returns 404 Not Found")
-    void givenAdminCredentials_whenDeleteNonexistentBook_thenReturnNotFound() throws Exception {
-        String token = obtainAccessToken("admin", "adminpass");
-        mockMvc.perform(delete("/api/books/{id}", 999L)
-                        .header("Authorization", "Bearer " + token))
-                .andExpect(status().isNotFound());
+    @Order(18)
+    @DisplayName("GET /api/books/suggest completes titles and authors written through the API")
+    void givenUserCredentials_whenSuggestBooks_thenReturnPrefixMatches() throws Exception {
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        String userToken = obtainAccessToken("user", "userpass");
+        mockMvc.perform(post("/api/books")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookRequestDto("Quixotic Quests", "Quentin Quill", "Suggestion test"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/books/suggest")
+                        .param("prefix", "QU")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].text", is("Quentin Quill")))
+                .andExpect(jsonPath("$.data[0].field", is("AUTHOR")))
+                .andExpect(jsonPath("$.data[1].text", is("Quixotic Quests")))
+                .andExpect(jsonPath("$.data[1].field", is("TITLE")));
     }
 
     @Test
-    @Order(8)
-    @DisplayName("USER can fetch a book via GET /api/books/{id}")
-    void givenUserCredentials_whenGetExistingBook_thenReturnBook() throws Exception {
+    @Order(23)
+    @DisplayName("GET /actuator/prometheus exposes service, JWT, repository, pool and cache metrics")
+    void givenTraffic_whenScrapePrometheus_thenHotPathMetricsArePresent() throws Exception {
         String token = obtainAccessToken("user", "userpass");
-        Book existingBook = Book.builder()
-                .title("Fetch Me")
-                .author("Author")
-                .description("Description")
-                .build();
-        Book savedBook = bookRepository.save(existingBook);
-        mockMvc.perform(get("/api/books/{id}", savedBook.getId())
-                        .header("Authorization", "Bearer " + token))
+        Book saved = bookRepository.save(Book.builder().title("Measured").author("Author").build());
+        mockMvc.perform(get("/api/books/{id}", saved.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data.title", is("Fetch Me")));
+                .andExpect(content().string(containsString("book_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getBook\"")))
+                .andExpect(content().string(containsString("jwt_verification_seconds_count{outcome=\"accepted\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"books\"")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"jwt.verified-tokens\"")));
     }
 
     @Test
-    @Order(9)
-    @DisplayName("GET /api/books/{id} for a non-existent book returns 404 Not Found")
-    void givenUserCredentials_whenGetNonexistentBook_thenReturnNotFound() throws Exception {
-        String token = obtainAccessToken("user", "userpass");
-        mockMvc.perform(get("/api/books/{id}", 999L)
-                        .header("Authorization", "Bearer " + token))
-                .andExpect(status().isNotFound());
+    @Order(24)
+    @DisplayName("GET /api/books/{id} carries a Server-Timing breakdown and slow traces are listed for admins only")
+    void givenTracedRequest_whenGetBook_thenServerTimingAndTraceAreRecorded() throws Exception {
+        String userToken = obtainAccessToken("user", "userpass");
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        Book saved = bookRepository.save(Book.builder().title("Traced").author("Author").build());
+        mockMvc.perform(delete("/api/admin/traces").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/{id}", saved.getId()).header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(containsString("jwt;dur="),
+                        containsString("authz;dur="), containsString("handler;dur="),
+                        containsString("service;dur="), containsString("db;dur="), containsString("app;dur="))));
+        mockMvc.perform(get("/api/admin/traces").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].path", hasItem("/api/books/" + saved.getId())))
+                .andExpect(jsonPath("$.data[0].spans[*].name", hasItem("jwt")));
+        mockMvc.perform(get("/api/admin/traces").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
     }
 
     @Test
-    @Order(10)
-    @DisplayName("USER can fetch all books via GET /api/books")
-    void givenUserCredentials_whenGetAllBooks_thenReturnListOfBooks() throws Exception {
-        String token = obtainAccessToken("user", "userpass");
-        Book bookOne = Book.builder().title("Book One").author("Author One").description("Desc One").build();
-        Book bookTwo = Book.builder().title("Book Two").author("Author Two").description("Desc Two").build();
-        bookRepository.saveAll(List.of(bookOne, bookTwo));
+    @Order(25)
+    @DisplayName("GET /api/books serves the first page precompressed with its own ETag when gzip is accepted")
+    void givenGzipAccepted_whenGetFirstPage_thenPrecompressedSnapshotIsServed() throws Exception {
+        String userToken = obtainAccessToken("user", "userpass");
+        bookRepository.save(Book.builder().title("Compressed").author("Author").build());
+        MvcResult gzipped = mockMvc.perform(get("/api/books")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(header().string("ETag", endsWith("-gzip\"")))
+                .andReturn();
+        byte[] body = gzipped.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            JsonNode json = objectMapper.readTree(gzip);
+            assertEquals("Compressed", json.at("/data/0/title").asText(), "Decompressed body should hold the page");
+        }
+        String gzipETag = gzipped.getResponse().getHeader("ETag");
         mockMvc.perform(get("/api/books")
-                        .header("Authorization", "Bearer " + token))
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", gzipETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/books")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", gzipETag))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.success", is(true)))
-                .andExpect(jsonPath("$.data", hasSize(2)));
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", not(gzipETag)))
+                .andExpect(jsonPath("$.data[0].title", is("Compressed")));
     }
 
     @Test
-    @Order(11)
-    @DisplayName("Input validation: POST /api/books with invalid data returns 400 Bad Request")
-    void givenAdminCredentials_whenPostBookWithInvalidData_thenReturnBadRequest() throws Exception {
-        String token = obtainAccessToken("admin", "adminpass");
-        BookRequestDto invalidBook = new BookRequestDto("", "Author", "Description");
-        mockMvc.perform(post("/api/books")
-                        .header("Authorization", "Bearer " + token)
+    @Order(26)
+    @DisplayName("POST /api/admin/tokens/revoke rejects the revoked token from then on while other tokens keep working")
+    void givenRevokedToken_whenGetBooks_thenReturnUnauthorized() throws Exception {
+        String adminToken = obtainAccessToken("admin", "adminpass");
+        String userToken = obtainAccessToken("user", "userpass");
+        String otherUserToken = obtainAccessToken("user", "userpass");
+        mockMvc.perform(get("/api/books").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/admin/tokens/revoke")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"" + userToken + "\"}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/tokens/revoke")
+                        .header("Authorization", "Bearer " + adminToken)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(invalidBook)))
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.success", is(false)))
-                .andExpect(jsonPath("$.message", containsString("Title must not be blank")));
+                        .content("{\"token\":\"" + userToken + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username", is("user")));
+        mockMvc.perform(get("/api/books").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/books").header("Authorization", "Bearer " + otherUserToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/admin/tokens/revoke")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\":\"" + userToken + "x\"}"))
+                .andExpect(status().isBadRequest());
     }
+
 }
@@ -0,0 +1,187 @@
+package com.vishnu.bookapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Clients, statistics and simulated database latency shared by {@link BookApiLoadTest}, {@link VirtualThreadBenchmark}
+ * and {@link ReactiveStackBenchmark}.
+ */
+final class LoadTestSupport {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTestSupport() {
+    }
+
+    /**
+     * Latencies in nanoseconds of the successful requests, sorted once merged, plus the failure count.
+     */
+    record ClientResult(long[] latencies, long errors) {
+    }
+
+    static String base(int port) {
+        return "http://localhost:" + port;
+    }
+
+    static String login(int port, String username, String password) throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(base(port) + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                    Map.of("username", username, "password", password))))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return objectMapper.readTree(response.body()).get("data").get("accessToken").asText();
+        }
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients sending {@code request} for {@code duration} and collects every
+     * successful request's latency.
+     */
+    static ClientResult run(HttpRequest request, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<ClientResult>> futures = new ArrayList<>();
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[256];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (IOException ex) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return new ClientResult(Arrays.copyOf(latencies, count), errors);
+                }));
+            }
+        }
+        List<long[]> latencies = new ArrayList<>();
+        long errors = 0;
+        for (Future<ClientResult> future : futures) {
+            latencies.add(future.get().latencies());
+            errors += future.get().errors();
+        }
+        return new ClientResult(latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors);
+    }
+
+    /**
+     * The latency in milliseconds at {@code quantile} of the sorted nanosecond latencies, or 0 without samples.
+     */
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * Proxies {@code target}, passing every result through {@code resultMapper}. Fluent calls that return the target
+     * itself return the proxy instead, and R2DBC's {@link Wrapped#unwrap()} returns the target; JDBC's
+     * {@code unwrap(Class)} is passed on like any other call.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T delegate(Class<T> type, T target, BiFunction<Method, Object, Object> resultMapper) {
+        return (T) Proxy.newProxyInstance(LoadTestSupport.class.getClassLoader(), new Class<?>[]{type, Wrapped.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Wrapped.class) {
+                        return target;
+                    }
+                    try {
+                        Object result = method.invoke(target, args);
+                        return result == target ? proxy : resultMapper.apply(method, result);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Delays every executed JDBC statement while it holds its pooled connection, like a round trip to a remote server.
+     * The delay is {@code benchmark.db-latency-ms} (default 2). The pool opens its connections through a slow driver
+     * data source, so the pool bean keeps the type it is injected by.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SimulatedDatabaseLatency {
+
+        @Bean
+        static BeanPostProcessor slowDataSource() {
+            long latencyMillis = Long.getLong("benchmark.db-latency-ms", 2);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource pool && latencyMillis > 0) {
+                        DataSource driver = new DriverDataSource(pool.getJdbcUrl(), pool.getDriverClassName(),
+                                pool.getDataSourceProperties(), pool.getUsername(), pool.getPassword());
+                        pool.setDataSource(delegate(DataSource.class, driver, (method, result) ->
+                                result instanceof Connection connection ? slowConnection(connection, latencyMillis) : result));
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection slowConnection(Connection connection, long latencyMillis) {
+            return delegate(Connection.class, connection, (method, result) ->
+                    result instanceof PreparedStatement statement
+                            ? delegate(PreparedStatement.class, statement, (statementMethod, statementResult) -> {
+                                if (statementMethod.getName().startsWith("execute")) {
+                                    sleep(latencyMillis);
+                                }
+                                return statementResult;
+                            })
+                            : result);
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
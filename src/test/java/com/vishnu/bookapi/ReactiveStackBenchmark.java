@@ -0,0 +1,234 @@
+package com.vishnu.bookapi;
+
+import com.vishnu.bookapi.LoadTestSupport.ClientResult;
+import com.vishnu.bookapi.service.BookCursor;
+import com.vishnu.reactivebookapi.ReactiveBookapiApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import static com.vishnu.bookapi.LoadTestSupport.*;
+
+/**
+ * Compares the servlet application with the reactive one on a page of {@code GET /api/books} that has to query the
+ * database, under a growing number of concurrent clients. Besides throughput and latency it samples how many pooled
+ * database connections, platform threads and heap each stack holds at peak. Both stacks get the same pool size and
+ * the same delay on every statement, which stands in for a networked database. The clients run on virtual threads in
+ * the same JVM, so their threads are not counted, but their heap is. Heap is the live heap after the latest
+ * collection. Tagged {@code load}, so the regular build skips it; run with
+ * {@code mvn -P load test -Dtest=ReactiveStackBenchmark} and tune with {@code benchmark.clients}
+ * (default 100,1000,5000), {@code benchmark.pool-size} (10), {@code benchmark.db-latency-ms} (2),
+ * {@code benchmark.seconds} (10) and {@code benchmark.warmup-seconds} (15).
+ */
+@Tag("load")
+class ReactiveStackBenchmark {
+
+    private record Peaks(int connections, int threads, long heapBytes) {
+    }
+
+    private record Result(String stack, int clients, double throughput, double p50Millis, double p99Millis,
+                          long errors, Peaks peaks) {
+    }
+
+    @Test
+    @DisplayName("Servlet vs reactive stack: throughput, latency, connections, threads and heap")
+    void compareStacks() throws Exception {
+        int[] clientCounts = Arrays.stream(System.getProperty("benchmark.clients", "100,1000,5000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int poolSize = Integer.getInteger("benchmark.pool-size", 10);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 10));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 15));
+        List<Result> results = new ArrayList<>();
+        for (String stack : List.of("servlet", "reactive")) {
+            try (ConfigurableApplicationContext context = start(stack, poolSize)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                IntSupplier activeConnections = activeConnections(context);
+                seed(port);
+                String token = login(port, "user", "userpass");
+                run(listBooks(port, token), 100, warmup);
+                for (int clients : clientCounts) {
+                    System.gc();
+                    results.add(measure(stack, port, token, clients, duration, activeConnections));
+                }
+            }
+        }
+        System.out.println("stack     clients   req/s   p50 ms   p99 ms  errors  db conns  threads  heap MB");
+        for (Result result : results) {
+            System.out.printf("%-9s %7d %7.0f %8.1f %8.1f %7d %9d %8d %8d%n", result.stack(), result.clients(),
+                    result.throughput(), result.p50Millis(), result.p99Millis(), result.errors(),
+                    result.peaks().connections(), result.peaks().threads(),
+                    result.peaks().heapBytes() / (1024 * 1024));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String stack, int poolSize) {
+        Map<String, String> properties = new HashMap<>(Map.of(
+                "server.port", "0",
+                "server.tomcat.max-connections", "20000",
+                "server.tomcat.accept-count", "10000",
+                // The servlet stack would answer from its cache and snapshot; measure the database path on both
+                "spring.cache.type", "none",
+                "logging.level.com.vishnu.bookapi", "WARN",
+                "ADMIN_PASSWORD", "adminpass",
+                "USER_PASSWORD", "userpass",
+                "JWT_SECRET", "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH"));
+        if (stack.equals("servlet")) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:stack-benchmark");
+            properties.put("spring.datasource.hikari.maximum-pool-size", Integer.toString(poolSize));
+            return new SpringApplicationBuilder(BookapiApplication.class,
+                    LoadTestSupport.SimulatedDatabaseLatency.class)
+                    .run(arguments(properties));
+        }
+        properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///stack-benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.pool.max-size", Integer.toString(poolSize));
+        return new SpringApplicationBuilder(ReactiveBookapiApplication.class, SimulatedR2dbcLatency.class)
+                .profiles(ReactiveBookapiApplication.PROFILE)
+                .run(arguments(properties));
+    }
+
+    /**
+     * Passed as command line arguments so they override the profile's properties files.
+     */
+    private static String[] arguments(Map<String, String> properties) {
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IntSupplier activeConnections(ConfigurableApplicationContext context) throws Exception {
+        if (context.getBeanNamesForType(DataSource.class).length > 0) {
+            HikariDataSource dataSource = context.getBean(DataSource.class).unwrap(HikariDataSource.class);
+            return () -> dataSource.getHikariPoolMXBean().getActiveConnections();
+        }
+        ConnectionPool pool = (ConnectionPool) ((Wrapped<ConnectionFactory>) context.getBean(ConnectionFactory.class))
+                .unwrap();
+        return () -> pool.getMetrics().map(metrics -> metrics.acquiredSize()).orElse(0);
+    }
+
+    private static void seed(int port) throws Exception {
+        String adminToken = login(port, "admin", "adminpass");
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int i = 0; i < 100; i++) {
+                client.send(HttpRequest.newBuilder(URI.create(base(port) + "/api/books"))
+                                .header("Authorization", "Bearer " + adminToken)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"title\":\"Book " + i + "\",\"author\":\"Author " + i + "\"}"))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+
+    private static Result measure(String stack, int port, String token, int clients, Duration duration,
+                                  IntSupplier activeConnections) throws Exception {
+        AtomicLong maxConnections = new AtomicLong();
+        AtomicLong maxThreads = new AtomicLong();
+        AtomicLong maxHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxConnections.accumulateAndGet(activeConnections.getAsInt(), Math::max);
+            maxThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+            maxHeap.accumulateAndGet(liveHeap(), Math::max);
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        ClientResult outcome;
+        try {
+            outcome = run(listBooks(port, token), clients, duration);
+        } finally {
+            sampler.shutdownNow();
+        }
+        long[] latencies = outcome.latencies();
+        return new Result(stack, clients, latencies.length / (double) duration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), outcome.errors(),
+                new Peaks((int) maxConnections.get(), (int) maxThreads.get(), maxHeap.get()));
+    }
+
+    private static HttpRequest listBooks(int port, String token) {
+        // A cursor before the first id skips the servlet stack's first-page snapshot
+        return HttpRequest.newBuilder(URI.create(base(port) + "/api/books?limit=20&after=" + BookCursor.encode(0L)))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Heap still in use after the most recent collection, so the figure does not depend on when the collector last ran.
+     */
+    private static long liveHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .mapToLong(pool -> pool.getCollectionUsage().getUsed())
+                .sum();
+    }
+
+    /**
+     * Delays every executed R2DBC statement while it holds its pooled connection, without blocking a thread, like a
+     * round trip to a remote server.
+     */
+    @Configuration
+    static class SimulatedR2dbcLatency {
+
+        @Bean
+        static BeanPostProcessor slowConnectionFactory() {
+            Duration latency = Duration.ofMillis(Long.getLong("benchmark.db-latency-ms", 2));
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof ConnectionFactory connectionFactory && !latency.isZero()) {
+                        return delegate(ConnectionFactory.class, connectionFactory, (method, result) ->
+                                result instanceof Publisher<?> connections
+                                        ? Mono.from(connections).map(connection ->
+                                        delegate(Connection.class, (Connection) connection,
+                                                (connectionMethod, statement) -> statement instanceof Statement
+                                                        ? slowStatement((Statement) statement, latency)
+                                                        : statement))
+                                        : result);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Statement slowStatement(Statement statement, Duration latency) {
+            return delegate(Statement.class, statement, (method, result) ->
+                    result instanceof Publisher<?> results
+                            ? Mono.delay(latency).thenMany(Flux.from(results))
+                            : result);
+        }
+    }
+}
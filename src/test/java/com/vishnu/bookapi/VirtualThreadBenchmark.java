@@ -0,0 +1,106 @@
+package com.vishnu.bookapi;
+
+import com.vishnu.bookapi.LoadTestSupport.ClientResult;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.vishnu.bookapi.LoadTestSupport.*;
+
+/**
+ * Compares platform and virtual request threads on {@code GET /api/books} under many concurrent clients, for several
+ * HikariCP pool sizes. Each JDBC statement is delayed to stand in for a networked database. Tagged {@code load}, so
+ * the regular build skips it; run with {@code mvn -P load test -Dtest=VirtualThreadBenchmark} and tune with the system
+ * properties {@code benchmark.clients} (default 1000,5000,10000), {@code benchmark.pool-sizes} (10,50),
+ * {@code benchmark.db-latency-ms} (2), {@code benchmark.seconds} (10) and {@code benchmark.warmup-seconds} (15).
+ * Every open connection costs a file descriptor on both the client and the server side, so 10k clients need
+ * {@code ulimit -n} above 20k.
+ */
+@Tag("load")
+class VirtualThreadBenchmark {
+
+    private record Result(String threads, int poolSize, int clients, double throughput,
+                          double p50Millis, double p99Millis, long errors) {
+    }
+
+    @Test
+    @DisplayName("Platform vs virtual request threads: throughput and p99 latency")
+    void compareRequestThreads() throws Exception {
+        int[] clientCounts = intsProperty("benchmark.clients", "1000,5000,10000");
+        int[] poolSizes = intsProperty("benchmark.pool-sizes", "10,50");
+        Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 10));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 15));
+        List<Result> results = new ArrayList<>();
+        for (int poolSize : poolSizes) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(virtual, poolSize)) {
+                    int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                    String token = login(port, "user", "userpass");
+                    context.getBean(BookRepository.class).saveAll(IntStream.range(0, 100)
+                            .mapToObj(i -> Book.builder().title("Book " + i).author("Author " + i).build())
+                            .toList());
+                    // Both thread modes start from a JIT-warm server instead of favouring whichever runs later
+                    run(listBooks(port, token), 100, warmup);
+                    for (int clients : clientCounts) {
+                        ClientResult outcome = run(listBooks(port, token), clients, duration);
+                        results.add(summarize(virtual ? "virtual" : "platform", poolSize, clients, outcome, duration));
+                    }
+                }
+            }
+        }
+        System.out.println("threads   pool  clients   req/s   p50 ms   p99 ms  errors");
+        for (Result result : results) {
+            System.out.printf("%-9s %4d %8d %7.0f %8.1f %8.1f %7d%n", result.threads(), result.poolSize(),
+                    result.clients(), result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, int poolSize) {
+        return new SpringApplicationBuilder(BookapiApplication.class, LoadTestSupport.SimulatedDatabaseLatency.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.threads.virtual.enabled", Boolean.toString(virtual),
+                        "spring.datasource.url", "jdbc:h2:mem:benchmark-" + virtual + "-" + poolSize,
+                        "spring.datasource.hikari.maximum-pool-size", Integer.toString(poolSize),
+                        "server.tomcat.max-connections", "20000",
+                        "server.tomcat.accept-count", "10000",
+                        "logging.level.com.vishnu.bookapi", "WARN",
+                        "ADMIN_PASSWORD", "adminpass",
+                        "USER_PASSWORD", "userpass",
+                        "JWT_SECRET", "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH"))
+                .run();
+    }
+
+    private static HttpRequest listBooks(int port, String token) {
+        return HttpRequest.newBuilder(URI.create(base(port) + "/api/books?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static Result summarize(String threads, int poolSize, int clients, ClientResult outcome,
+                                    Duration duration) {
+        long[] latencies = outcome.latencies();
+        return new Result(threads, poolSize, clients, latencies.length / (double) duration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), outcome.errors());
+    }
+
+    private static int[] intsProperty(String name, String defaults) {
+        return Arrays.stream(System.getProperty(name, defaults).split(",")).map(String::trim)
+                .mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,120 @@
+package com.vishnu.bookapi.config;
+
+import com.vishnu.bookapi.exception.CacheLoadTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingCacheTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Cache delegate = new ConcurrentMapCache(CacheConfig.BOOKS_CACHE);
+
+    @Test
+    @DisplayName("get: Should run the loader once for concurrent misses and hand every caller its value")
+    void testGet_CoalescesConcurrentMisses() throws Exception {
+        CoalescingCache cache = new CoalescingCache(delegate, Duration.ofSeconds(10), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            loaderCalls.incrementAndGet();
+            release.await();
+            return "book";
+        };
+
+        List<Future<String>> results = callConcurrently(cache, loader, release);
+
+        for (Future<String> result : results) {
+            assertEquals("book", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get(), "Only the first caller should load");
+        assertEquals("book", cache.get(1L, () -> fail("A cached value should not be loaded again")));
+        assertEquals(1.0, loads("loaded"));
+        assertEquals(CALLERS - 1, loads("coalesced"));
+    }
+
+    @Test
+    @DisplayName("get: Should fail every waiting caller with the loader's exception and load afresh afterwards")
+    void testGet_PropagatesLoadFailure() throws Exception {
+        CoalescingCache cache = new CoalescingCache(delegate, Duration.ofSeconds(10), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            loaderCalls.incrementAndGet();
+            release.await();
+            throw new IllegalStateException("database down");
+        };
+
+        List<Future<String>> results = callConcurrently(cache, loader, release);
+
+        for (Future<String> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            Cache.ValueRetrievalException failure = assertInstanceOf(Cache.ValueRetrievalException.class,
+                    ex.getCause());
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        assertEquals(1, loaderCalls.get(), "Waiters should not retry a failed load themselves");
+        assertEquals("book", cache.get(1L, () -> "book"), "A failed load should not be handed out again");
+    }
+
+    @Test
+    @DisplayName("get: Should give up with CacheLoadTimeoutException when a concurrent load takes too long")
+    void testGet_WaiterTimesOut() throws Exception {
+        CoalescingCache cache = new CoalescingCache(delegate, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> leader = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                release.await();
+                return "book";
+            }));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            assertThrows(CacheLoadTimeoutException.class, () -> cache.get(1L, () -> fail("Should not load")));
+
+            release.countDown();
+            assertEquals("book", leader.get(10, TimeUnit.SECONDS), "The slow load itself should still complete");
+        }
+        assertEquals(1.0, loads("timed-out"));
+    }
+
+    private List<Future<String>> callConcurrently(CoalescingCache cache, Callable<String> loader,
+                                                  CountDownLatch release) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.get(1L, loader)));
+            }
+            // Hold the load until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (loads("coalesced") < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+        return results;
+    }
+
+    private double loads(String result) {
+        return meterRegistry.get("cache.coalesced.loads").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.vishnu.bookapi.config;
+
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica. The replica is never written to by the
+ * application, so a read returns the replica's row only if it was routed there.
+ */
+@SpringBootTest
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final long BOOK_ID = 1_000_000L;
+
+    @Autowired
+    private BookService bookService;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("datasource.replica.urls", () -> REPLICA_URL);
+        registry.add("datasource.replica.max-lag", () -> "0s");
+        registry.add("datasource.replica.read-your-writes", () -> "1m");
+        registry.add("spring.cache.type", () -> "none");
+    }
+
+    @BeforeAll
+    static void createReplica() throws SQLException {
+        // The search and suggest indexes read the replica on startup, so it needs the table before the context starts
+        execute(REPLICA_URL, "create table if not exists books (id bigint primary key, title varchar(255) not null,"
+                + " author varchar(255), description varchar(1000), version bigint not null)");
+        execute(REPLICA_URL, "merge into books values (" + BOOK_ID + ", 'Replica title', 'Author', null, 0)");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getBook: Should read from the replica and pin only the writing user to the primary")
+    void testGetBook_ReadYourWrites() throws SQLException {
+        execute(PRIMARY_URL, "merge into books (id, title, author, version) values (" + BOOK_ID
+                + ", 'Primary title', 'Author', 0)");
+        authenticate("reader");
+        assertEquals("Replica title", bookService.getBook(BOOK_ID).title(), "Read-only call should use the replica");
+
+        authenticate("writer");
+        assertEquals("Replica title", bookService.getBook(BOOK_ID).title(), "Writer has not written yet");
+        bookService.updateBook(BOOK_ID, new BookRequestDto("Updated title", "Author", null), null);
+        assertEquals("Updated title", bookService.getBook(BOOK_ID).title(),
+                "Writer should read the primary within the read-your-writes window");
+
+        authenticate("reader");
+        assertEquals("Replica title", bookService.getBook(BOOK_ID).title(),
+                "Other users should keep reading the replica once max-lag has passed");
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vishnu.bookapi.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    @DisplayName("onPinned: Should time virtual threads that block inside a synchronized block")
+    void testPinnedVirtualThreadIsRecorded() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry);
+        monitor.start();
+        try {
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+            Timer pinned = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+            // JFR hands events to the stream asynchronously, roughly once a second
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, pinned.count(), "The pinned sleep should be recorded once");
+            assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 10,
+                    "Only pins longer than the threshold should be reported");
+        } finally {
+            monitor.stop();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.entity.Role;
+import com.vishnu.bookapi.entity.User;
+import com.vishnu.bookapi.repository.RoleRepository;
+import com.vishnu.bookapi.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomUserDetailsServiceCacheTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername: Should load a user and its roles from the second-level cache without a query")
+    void testLoadUserByUsername_ServedFromCache() {
+        userDetailsService.loadUserByUsername("admin");
+        statistics.clear();
+
+        UserDetails admin = userDetailsService.loadUserByUsername("admin");
+
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), admin.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+        assertEquals(0, statistics.getPrepareStatementCount(), "A cached user should not be queried");
+        assertEquals(1, statistics.getQueryCacheHitCount(), "The user should come from the query cache");
+        assertEquals(1, statistics.getCollectionStatistics(User.class.getName() + ".roles").getCacheHitCount(),
+                "Its role ids should come from the user-roles region");
+        assertEquals(2, statistics.getEntityStatistics(Role.class.getName()).getCacheHitCount(),
+                "Both roles should come from the roles region");
+    }
+
+    @Test
+    @DisplayName("findByUsername: Should see a user saved after the lookup was cached")
+    void testFindByUsername_InvalidatedByWrite() {
+        assertTrue(userRepository.findByUsername("reader").isEmpty());
+        Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+        userRepository.save(User.builder().username("reader").password("secret").roles(Set.of(userRole)).build());
+
+        assertTrue(userRepository.findByUsername("reader").isPresent(), "A write to users should invalidate the result");
+    }
+}
@@ -0,0 +1,145 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private TokenRevocationList tokenRevocationList;
+    private SimpleMeterRegistry meterRegistry;
+    private final UserDetails admin = new User("admin", "encodedPassword",
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 120_000L);
+        jwtUtil.init();
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 100, 0.01, Duration.ofSeconds(30),
+                meterRegistry, Clock.systemUTC());
+        filter = new JwtRequestFilter(jwtUtil, userDetailsService,
+                new VerifiedTokenCache(true, 100, meterRegistry), tokenRevocationList, meterRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilter: Should authenticate from the token's roles claim without loading the user")
+    void testDoFilter_AuthoritiesFromToken() throws Exception {
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(admin)), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication, "Request should be authenticated");
+        assertEquals("admin", authentication.getName(), "Principal should be the token subject");
+        assertEquals(AuthorityUtils.authorityListToSet(admin.getAuthorities()),
+                AuthorityUtils.authorityListToSet(authentication.getAuthorities()),
+                "Authorities should come from the roles claim");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("doFilter: Should load the user from the database when lookup mode is enabled")
+    void testDoFilter_UserLookupEnabled() throws Exception {
+        ReflectionTestUtils.setField(filter, "userLookupEnabled", true);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(admin)), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication(), "Request should be authenticated");
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+        assertEquals(1, meterRegistry.get("jwt.user.load").timer().count(), "User load should be timed");
+    }
+
+    @Test
+    @DisplayName("doFilter: Should fall back to loading the user for tokens without a roles claim")
+    void testDoFilter_TokenWithoutRoles() throws Exception {
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        filter.doFilter(requestWithToken(jwtUtil.generateRefreshToken(admin)), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication(), "Request should be authenticated");
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("doFilter: Should leave the request unauthenticated for a tampered token and continue the chain")
+    void testDoFilter_TamperedToken() throws Exception {
+        String token = jwtUtil.generateToken(admin);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(requestWithToken(tampered), new MockHttpServletResponse(), chain);
+        assertNull(SecurityContextHolder.getContext().getAuthentication(), "Tampered tokens must not authenticate");
+        assertNotNull(chain.getRequest(), "The filter chain should continue");
+        verifyNoInteractions(userDetailsService);
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "rejected").timer().count(),
+                "Rejected verification should be timed");
+        assertEquals(0, meterRegistry.get("jwt.verification").tag("outcome", "accepted").timer().count(),
+                "No verification should count as accepted");
+    }
+
+    @Test
+    @DisplayName("doFilter: Should reject a revoked token even after it was verified and cached")
+    void testDoFilter_RevokedToken() throws Exception {
+        String token = jwtUtil.generateToken(admin);
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication(), "Token should work before revocation");
+        SecurityContextHolder.clearContext();
+
+        tokenRevocationList.revoke(jwtUtil.parseToken(token));
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication(), "Revoked tokens must not authenticate");
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "rejected").timer().count(),
+                "Revoked tokens should count as rejected");
+    }
+
+    @Test
+    @DisplayName("parseToken: Should return subject, roles and expiry from a single verification")
+    void testParseToken_ReturnsClaims() {
+        VerifiedToken token = jwtUtil.parseToken(jwtUtil.generateToken(admin));
+        assertNotNull(token.id(), "Tokens should carry an id so they can be revoked");
+        assertEquals("admin", token.username(), "Subject should be the username");
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), token.roles().stream().sorted().toList(),
+                "Roles should match the user's authorities");
+        assertTrue(token.expiresAt().isAfter(Instant.now()), "Expiry should be in the future");
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginExecutor loginExecutor;
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("authenticate: Should check credentials on a login thread and time the success")
+    void testAuthenticate_Success() {
+        loginExecutor = new LoginExecutor(credentials -> {
+            assertTrue(Thread.currentThread().getName().startsWith("login-"), "Should run on the login pool");
+            return authenticated(credentials);
+        }, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        Authentication result = loginExecutor.authenticate(credentials("user", "userpass"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals(1, meterRegistry.get("auth.login.verification").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("authenticate: Should rethrow rejected credentials to the caller and time the failure")
+    void testAuthenticate_BadCredentials() {
+        loginExecutor = new LoginExecutor(credentials -> {
+            throw new BadCredentialsException("Bad credentials");
+        }, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThrows(BadCredentialsException.class,
+                () -> loginExecutor.authenticate(credentials("user", "wrong")));
+        assertEquals(1, meterRegistry.get("auth.login.verification").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("authenticate: Should fail fast once every login thread is busy and the queue is full")
+    void testAuthenticate_QueueFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AuthenticationManager slowManager = credentials -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return authenticated(credentials);
+        };
+        loginExecutor = new LoginExecutor(slowManager, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<Authentication> running = CompletableFuture.supplyAsync(
+                () -> loginExecutor.authenticate(credentials("admin", "adminpass")));
+        assertTrue(started.await(5, TimeUnit.SECONDS), "First login should start");
+        CompletableFuture<Authentication> queued = CompletableFuture.supplyAsync(
+                () -> loginExecutor.authenticate(credentials("user", "userpass")));
+        waitForQueuedTasks(1);
+
+        assertThrows(LoginCapacityExceededException.class,
+                () -> loginExecutor.authenticate(credentials("user", "userpass")));
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).isAuthenticated());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).isAuthenticated(), "Queued login should still complete");
+    }
+
+    @Test
+    @DisplayName("authenticate: Should give up on a login that takes longer than the maximum wait and free its thread")
+    void testAuthenticate_TimedOut() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        loginExecutor = new LoginExecutor(credentials -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return authenticated(credentials);
+        }, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(LoginCapacityExceededException.class,
+                () -> loginExecutor.authenticate(credentials("user", "userpass")));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Verification should be cancelled");
+        assertEquals(1.0, meterRegistry.get("auth.login.timed-out").counter().count());
+    }
+
+    private void waitForQueuedTasks(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", LoginExecutor.METRIC_NAME).gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Authentication credentials(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+
+    private static Authentication authenticated(Authentication credentials) {
+        return UsernamePasswordAuthenticationToken.authenticated(credentials.getPrincipal(), null, List.of());
+    }
+}
@@ -0,0 +1,133 @@
+package com.vishnu.bookapi.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilter: Should answer 429 with Retry-After once a user's bucket is empty and refill over time")
+    void testDoFilter_RejectsOverLimit() throws Exception {
+        RateLimitFilter filter = newFilter(new RateLimitProperties.Rule("/api/books/**", List.of(), null, 2,
+                Duration.ofSeconds(1)));
+
+        MockHttpServletResponse first = perform(filter, "user", "ROLE_USER", "/api/books");
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader(RateLimitFilter.LIMIT));
+        assertEquals("1", first.getHeader(RateLimitFilter.REMAINING));
+        assertEquals(200, perform(filter, "user", "ROLE_USER", "/api/books/1").getStatus());
+
+        MockHttpServletResponse rejected = perform(filter, "user", "ROLE_USER", "/api/books");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader(RateLimitFilter.REMAINING));
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"success\":false"), "Body should be an ApiResponse");
+        assertEquals(200, perform(filter, "admin", "ROLE_USER", "/api/books").getStatus(),
+                "Other users should have their own bucket");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(200, perform(filter, "user", "ROLE_USER", "/api/books").getStatus(),
+                "Half a period should refill one token");
+        assertEquals(1.0, meterRegistry.get("rate.limit.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("doFilter: Should apply the first rule matching path, method and role, and skip unmatched requests")
+    void testDoFilter_FirstMatchingRule() throws Exception {
+        RateLimitFilter filter = newFilter(
+                new RateLimitProperties.Rule("/api/books/import", List.of(HttpMethod.POST), null, 1,
+                        Duration.ofMinutes(1)),
+                new RateLimitProperties.Rule("/api/books/**", List.of(), "ROLE_ADMIN", 100, Duration.ofSeconds(1)),
+                new RateLimitProperties.Rule("/api/books/**", List.of(), null, 10, Duration.ofSeconds(1)));
+
+        assertEquals("100", perform(filter, "admin", "ROLE_ADMIN", "/api/books").getHeader(RateLimitFilter.LIMIT));
+        assertEquals("10", perform(filter, "user", "ROLE_USER", "/api/books").getHeader(RateLimitFilter.LIMIT));
+        MockHttpServletRequest importRequest = request("/api/books/import");
+        importRequest.setMethod("POST");
+        assertEquals("1", perform(filter, "admin", "ROLE_ADMIN", importRequest).getHeader(RateLimitFilter.LIMIT));
+        assertNull(perform(filter, "user", "ROLE_USER", "/api/auth/refresh").getHeader(RateLimitFilter.LIMIT),
+                "Paths without a rule should not be limited");
+    }
+
+    @Test
+    @DisplayName("evictIdleBuckets: Should drop buckets that have been full for the idle timeout")
+    void testEvictIdleBuckets() throws Exception {
+        RateLimitFilter filter = newFilter(new RateLimitProperties.Rule("/api/books/**", List.of(), null, 10,
+                Duration.ofSeconds(1)));
+        perform(filter, "user", "ROLE_USER", "/api/books");
+        filter.evictIdleBuckets();
+        assertEquals(1, filter.bucketCount(), "A bucket in use should be kept");
+
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        filter.evictIdleBuckets();
+        assertEquals(0, filter.bucketCount(), "An idle bucket should be dropped");
+    }
+
+    @Test
+    @DisplayName("tryConsume: Should hand out exactly the capacity under concurrent callers")
+    void testTokenBucket_ConcurrentConsumers() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, Duration.ofHours(1).toNanos(), 0);
+        AtomicInteger allowed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 5000; i++) {
+                executor.execute(() -> {
+                    if (bucket.tryConsume(0).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        assertEquals(1000, allowed.get(), "No token should be handed out twice or lost");
+    }
+
+    private RateLimitFilter newFilter(RateLimitProperties.Rule... rules) {
+        return new RateLimitFilter(new RateLimitProperties(true, Duration.ofMinutes(5), List.of(rules)),
+                new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String username, String role, String path)
+            throws Exception {
+        return perform(filter, username, role, request(path));
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String username, String role,
+                                                   MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList(role)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
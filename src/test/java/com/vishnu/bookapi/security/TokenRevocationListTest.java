@@ -0,0 +1,109 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.entity.RevokedToken;
+import com.vishnu.bookapi.exception.TokenNotRevocableException;
+import com.vishnu.bookapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, 100, 0.01, Duration.ofSeconds(30),
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("revoke: Should persist the token and reject it from then on")
+    void testRevoke_RejectsToken() {
+        revocationList.revoke(token("jti-1", NOW.plusSeconds(600)));
+
+        assertTrue(revocationList.isRevoked("jti-1"), "Revoked token should be rejected");
+        assertFalse(revocationList.isRevoked("jti-2"), "Other tokens should stay valid");
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertEquals(1.0, lookups("revoked"), "Revoked hit should be counted");
+    }
+
+    @Test
+    @DisplayName("revoke: Should refuse tokens issued without an id")
+    void testRevoke_TokenWithoutId() {
+        assertThrows(TokenNotRevocableException.class, () -> revocationList.revoke(token(null, NOW.plusSeconds(600))));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("isRevoked: Should answer most unrevoked tokens from the Bloom filter alone")
+    void testIsRevoked_BloomFilterShortCircuits() {
+        IntStream.range(0, 100).forEach(i -> revocationList.revoke(token("revoked-" + i, NOW.plusSeconds(600))));
+        int checks = 10_000;
+        for (int i = 0; i < checks; i++) {
+            assertFalse(revocationList.isRevoked(UUID.randomUUID().toString()));
+        }
+        assertTrue(lookups("false-positive") < checks * 0.03,
+                "False positives should stay near the configured rate, got " + lookups("false-positive"));
+        assertEquals(checks, lookups("bloom-negative") + lookups("false-positive"), 0.0);
+    }
+
+    @Test
+    @DisplayName("refresh: Should delete expired rows and load revocations made on other instances")
+    void testRefresh_DropsExpiredAndLoadsActive() {
+        revocationList.revoke(token("expired", NOW));
+        RevokedToken elsewhere = RevokedToken.builder()
+                .tokenId("elsewhere").username("user").expiresAt(NOW.plusSeconds(600)).revokedAt(NOW).build();
+        when(revokedTokenRepository.findByExpiresAtAfter(NOW)).thenReturn(List.of(elsewhere));
+        when(revokedTokenRepository.existsByExpiresAtLessThanEqual(NOW)).thenReturn(true);
+
+        revocationList.refresh();
+
+        verify(revokedTokenRepository).deleteExpired(NOW);
+        assertFalse(revocationList.isRevoked("expired"), "Entries should age out when their token expires");
+        assertTrue(revocationList.isRevoked("elsewhere"), "Revocations from the table should be picked up");
+        assertEquals(1.0, meterRegistry.get("jwt.revocation.entries").gauge().value());
+    }
+
+    @Test
+    @DisplayName("refresh: Should not open a write transaction when no row has expired")
+    void testRefresh_SkipsDeleteWithoutExpiredRows() {
+        when(revokedTokenRepository.findByExpiresAtAfter(NOW)).thenReturn(List.of());
+
+        revocationList.refresh();
+
+        verify(revokedTokenRepository).existsByExpiresAtLessThanEqual(NOW);
+        verify(revokedTokenRepository, never()).deleteExpired(any());
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("jwt.revocation.lookups").tag("result", result).counter().count();
+    }
+
+    private static VerifiedToken token(String id, Instant expiresAt) {
+        return new VerifiedToken(id, "user", List.of("ROLE_USER"), expiresAt);
+    }
+}
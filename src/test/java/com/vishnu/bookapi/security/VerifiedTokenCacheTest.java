@@ -0,0 +1,85 @@
+package com.vishnu.bookapi.security;
+
+import com.vishnu.bookapi.exception.JwtAuthenticationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("verify: Should skip verification for a token that was already verified")
+    void testVerify_CacheHit() {
+        VerifiedTokenCache cache = newCache(true);
+        Function<String, VerifiedToken> verifier = countingVerifier(NOW.plusSeconds(600));
+        VerifiedToken first = cache.verify("token", verifier);
+        VerifiedToken second = cache.verify("token", verifier);
+        assertSame(first, second, "Second call should return the cached result");
+        assertEquals(1, verifications.get(), "Token should be verified only once");
+        assertEquals(1, cache.stats().hitCount(), "Hit should be recorded");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count(), "Hit should be published as a metric");
+    }
+
+    @Test
+    @DisplayName("verify: Should drop an entry once its token expires")
+    void testVerify_EntryExpiresWithToken() {
+        VerifiedTokenCache cache = newCache(true);
+        Function<String, VerifiedToken> verifier = countingVerifier(NOW.plusSeconds(60));
+        cache.verify("token", verifier);
+        ticker.addAndGet(Duration.ofSeconds(61).toNanos());
+        cache.verify("token", verifier);
+        assertEquals(2, verifications.get(), "Expired entries must be verified again");
+    }
+
+    @Test
+    @DisplayName("verify: Should not cache failed verifications")
+    void testVerify_FailureNotCached() {
+        VerifiedTokenCache cache = newCache(true);
+        Function<String, VerifiedToken> failing = token -> {
+            verifications.incrementAndGet();
+            throw new JwtAuthenticationException("Invalid token");
+        };
+        assertThrows(JwtAuthenticationException.class, () -> cache.verify("bad", failing));
+        assertThrows(JwtAuthenticationException.class, () -> cache.verify("bad", failing));
+        assertEquals(2, verifications.get(), "Every attempt with a bad token must be verified");
+    }
+
+    @Test
+    @DisplayName("verify: Should verify every time when the cache is disabled")
+    void testVerify_Disabled() {
+        VerifiedTokenCache cache = newCache(false);
+        Function<String, VerifiedToken> verifier = countingVerifier(NOW.plusSeconds(600));
+        cache.verify("token", verifier);
+        cache.verify("token", verifier);
+        assertEquals(2, verifications.get(), "Disabled cache should always verify");
+    }
+
+    private VerifiedTokenCache newCache(boolean enabled) {
+        return new VerifiedTokenCache(enabled, 100, meterRegistry, ticker::get, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Function<String, VerifiedToken> countingVerifier(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(null, "user", List.of("ROLE_USER"), expiresAt);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(null, null);
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(1L, "Effective Java", "Joshua Bloch", "Best practices for the Java platform", 0L)));
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(2L, "Java Concurrency in Practice", "Brian Goetz", "Threads and locks", 0L)));
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(3L, "Clean Code", "Robert Martin", "Examples written in Java", 0L)));
+    }
+
+    @Test
+    @DisplayName("tokenize: Should lowercase, fold accents, split on punctuation and drop stop words")
+    void testTokenize() {
+        assertEquals(List.of("garcia", "marquez", "one", "hundred", "years"),
+                BookSearchIndex.tokenize("García Márquez: One Hundred Years of the"));
+    }
+
+    @Test
+    @DisplayName("search: Should rank title matches above description matches")
+    void testSearch_RanksTitleAboveDescription() {
+        BookSearchIndex.Hits hits = index.search("java", 0, 10);
+        assertEquals(3, hits.total(), "All three books mention java");
+        assertEquals(3L, hits.ids().getLast(), "The description-only match should rank last");
+    }
+
+    @Test
+    @DisplayName("search: Should rank books matching more query terms first")
+    void testSearch_MoreTermsRankHigher() {
+        assertEquals(2L, index.search("java concurrency", 0, 10).ids().getFirst());
+        assertEquals(List.of(1L), index.search("bloch", 0, 10).ids(), "Author matches should be found");
+    }
+
+    @Test
+    @DisplayName("search: Should page through hits with offset and limit")
+    void testSearch_Pagination() {
+        List<Long> all = index.search("java", 0, 10).ids();
+        assertEquals(all.subList(0, 2), index.search("java", 0, 2).ids());
+        assertEquals(all.subList(2, 3), index.search("java", 2, 2).ids());
+        assertTrue(index.search("java", 4, 2).ids().isEmpty(), "Pages past the end should be empty");
+    }
+
+    @Test
+    @DisplayName("onBookChanged: Should reindex updated books and drop deleted ones")
+    void testOnBookChanged_UpdatesAndDeletes() {
+        index.onBookChanged(BookChangedEvent.updated(
+                new BookResponseDto(1L, "Effective Kotlin", "Marcin Moskala", "Best practices", 0L)));
+        assertEquals(List.of(1L), index.search("kotlin", 0, 10).ids(), "Updated text should be searchable");
+        assertFalse(index.search("bloch", 0, 10).ids().contains(1L), "Old text should no longer match");
+        index.onBookChanged(BookChangedEvent.deleted(2L));
+        assertTrue(index.search("concurrency", 0, 10).ids().isEmpty(), "Deleted books should not match");
+    }
+}
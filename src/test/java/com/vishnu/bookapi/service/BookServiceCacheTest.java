@@ -0,0 +1,136 @@
+package com.vishnu.bookapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vishnu.bookapi.config.CacheConfig;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookServiceCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    @BeforeEach
+    void clearCache() {
+        nativeCache().invalidateAll();
+    }
+
+    @Test
+    @DisplayName("getBook: Should serve repeated reads from the cache")
+    void testGetBook_ServedFromCache() {
+        Book saved = bookRepository.save(Book.builder().title("Cached").author("Author").build());
+        long hitsBefore = nativeCache().stats().hitCount();
+        bookService.getBook(saved.getId());
+        bookService.getBook(saved.getId());
+        assertEquals(hitsBefore + 1, nativeCache().stats().hitCount(), "Second read should be a cache hit");
+        // A write that bypasses the service is invisible while the entry is cached
+        saved.setTitle("Changed behind the cache");
+        bookRepository.save(saved);
+        assertEquals("Cached", bookService.getBook(saved.getId()).title(), "Read should come from the cache");
+    }
+
+    @Test
+    @DisplayName("updateBook/deleteBook: Should invalidate the cached entry")
+    void testWrites_InvalidateCache() {
+        Long id = bookRepository.save(Book.builder().title("Before").author("Author").build()).getId();
+        assertEquals("Before", bookService.getBook(id).title());
+        bookService.updateBook(id, new BookRequestDto("After", "Author", null), null);
+        assertEquals("After", bookService.getBook(id).title(), "Readers must see the update");
+        bookService.deleteBook(id);
+        assertThrows(BookNotFoundException.class, () -> bookService.getBook(id), "Readers must see the delete");
+    }
+
+    @Test
+    @DisplayName("getBook: Should never keep a stale entry once concurrent updates and reads settle")
+    void testConcurrentUpdatesAndReads_NoStaleEntry() throws Exception {
+        Long id = bookRepository.save(Book.builder().title("Initial").author("Author").build()).getId();
+        int writers = 4;
+        int readers = 8;
+        int updatesPerWriter = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            for (int round = 0; round < 3; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicBoolean writing = new AtomicBoolean(true);
+                List<Future<?>> writes = new ArrayList<>();
+                List<Future<?>> reads = new ArrayList<>();
+                for (int w = 0; w < writers; w++) {
+                    int writer = w;
+                    int currentRound = round;
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < updatesPerWriter; i++) {
+                            String title = "Round " + currentRound + " writer " + writer + " update " + i;
+                            bookService.updateBook(id, new BookRequestDto(title, "Author", null), null);
+                        }
+                        return null;
+                    }));
+                }
+                for (int r = 0; r < readers; r++) {
+                    reads.add(executor.submit(() -> {
+                        start.await();
+                        while (writing.get()) {
+                            bookService.getBook(id);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get(30, TimeUnit.SECONDS);
+                }
+                writing.set(false);
+                for (Future<?> read : reads) {
+                    read.get(30, TimeUnit.SECONDS);
+                }
+                String committedTitle = bookRepository.findById(id).orElseThrow().getTitle();
+                BookResponseDto cached = bookService.getBook(id);
+                assertEquals(committedTitle, cached.title(), "Cache must agree with the database in round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return ((CaffeineCache) cacheManager.getCache(CacheConfig.BOOKS_CACHE)).getNativeCache();
+    }
+}
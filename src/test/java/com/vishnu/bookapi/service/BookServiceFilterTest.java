@@ -0,0 +1,131 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.exception.InvalidCursorException;
+import com.vishnu.bookapi.exception.UnsupportedSortException;
+import com.vishnu.bookapi.repository.BookRepository;
+import com.vishnu.bookapi.repository.BookSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookServiceFilterTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private String prefix;
+    private List<Book> books;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Titles unique to this test keep books saved by other tests out of the results
+        prefix = "Filter " + UUID.randomUUID() + " ";
+        String[] authors = {"Carol", null, "Alice", "Bob", null, "Alice", "Carol", "Bob", "Alice", null, "Dave"};
+        books = new ArrayList<>();
+        for (int i = 0; i < authors.length; i++) {
+            books.add(Book.builder().title(prefix + (char) ('k' - i)).author(authors[i]).build());
+        }
+        books = bookRepository.saveAll(books);
+    }
+
+    @Test
+    @DisplayName("findBooks: Should page through a title prefix in title order with the returned cursors")
+    void testFindBooks_TitlePrefixSortedByTitle() {
+        List<Long> expected = books.stream()
+                .sorted(Comparator.comparing(Book::getTitle))
+                .map(Book::getId)
+                .toList();
+        assertEquals(expected, collectIds(null, prefix, "title,asc"));
+        assertEquals(expected.reversed(), collectIds(null, prefix, "title,desc"));
+    }
+
+    @Test
+    @DisplayName("findBooks: Should keep books without an author in place when paging in author order")
+    void testFindBooks_SortedByAuthorWithNulls() {
+        Comparator<Book> byAuthor = Comparator.comparing(Book::getAuthor, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Book::getId);
+        List<Long> expected = books.stream().sorted(byAuthor).map(Book::getId).toList();
+        assertEquals(expected, collectIds(null, prefix, "author"));
+        assertEquals(expected.reversed(), collectIds(null, prefix, "author,desc"));
+    }
+
+    @Test
+    @DisplayName("findBooks: Should combine the author filter with the title prefix and the default id order")
+    void testFindBooks_AuthorAndTitlePrefix() {
+        List<Long> expected = books.stream()
+                .filter(book -> "Alice".equals(book.getAuthor()))
+                .map(Book::getId)
+                .sorted()
+                .toList();
+        assertEquals(expected, collectIds("Alice", prefix, null));
+        assertEquals(List.of(), collectIds("Alice", prefix + "zzz", null), "No title should match the prefix");
+    }
+
+    @Test
+    @DisplayName("findBooks: Should match titles by prefix, in title order by default, including prefixes ending in z")
+    void testFindBooks_TitlePrefixEndingInZ() {
+        List<Book> jazz = bookRepository.saveAll(List.of(
+                Book.builder().title(prefix + "Jazzy").author("Eve").build(),
+                Book.builder().title(prefix + "Jaz").author("Eve").build(),
+                Book.builder().title(prefix + "Jazz Age").author("Eve").build(),
+                Book.builder().title(prefix + "Jazz").author("Eve").build(),
+                Book.builder().title(prefix + "100%_Jazz").author("Eve").build()));
+        assertEquals(List.of(jazz.get(3).getId(), jazz.get(2).getId(), jazz.get(0).getId()),
+                collectIds(null, prefix + "Jazz", null));
+        assertEquals(List.of(jazz.get(4).getId()), collectIds(null, prefix + "100%_", null),
+                "Wildcards in the prefix should match literally");
+        // The LIKE form used on other databases
+        assertEquals(3, bookRepository.findAll(BookSpecifications.titleStartsWith(prefix + "Jazz")).size());
+        assertEquals(1, bookRepository.findAll(BookSpecifications.titleStartsWith(prefix + "100%_")).size());
+    }
+
+    @Test
+    @DisplayName("findBooks: Should reject unsupported sorts and cursors issued for another sort")
+    void testFindBooks_InvalidSortOrCursor() {
+        assertThrows(UnsupportedSortException.class, () -> BookSort.parse("description"));
+        assertThrows(UnsupportedSortException.class, () -> BookSort.parse("title,sideways"));
+        assertThrows(UnsupportedSortException.class,
+                () -> bookService.findBooks(null, prefix, BookSort.DEFAULT, null, 2),
+                "No index serves id order with only a title prefix");
+        BookPageDto byId = bookService.findBooks("Alice", prefix, null, null, 2);
+        assertThrows(InvalidCursorException.class,
+                () -> bookService.findBooks("Alice", prefix, BookSort.parse("title"), byId.nextCursor(), 2));
+    }
+
+    private List<Long> collectIds(String author, String titlePrefix, String sort) {
+        BookSort bookSort = BookSort.parse(sort);
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            BookPageDto page = bookService.findBooks(author, titlePrefix, bookSort, after, 3);
+            page.books().stream().map(BookResponseDto::id).forEach(ids::add);
+            after = page.nextCursor();
+        } while (after != null);
+        return ids;
+    }
+}
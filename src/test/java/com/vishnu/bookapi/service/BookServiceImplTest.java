@@ -1,9 +1,15 @@
 package com.vishnu.bookapi.service;
 
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookPatchDto;
 import com.vishnu.bookapi.dto.BookRequestDto;
 import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSearchResultDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
 import com.vishnu.bookapi.entity.Book;
 import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.exception.BookVersionMismatchException;
+import com.vishnu.bookapi.exception.InvalidCursorException;
 import com.vishnu.bookapi.repository.BookRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +35,18 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -43,32 +66,24 @@ class BookServiceImplTest {
         assertEquals(1L, response.id(), "Book ID should be 1L");
         assertEquals("Effective Java", response.title(), "Book title mismatch");
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.created(response));
     }
 
     @Test
     @DisplayName("updateBook: Should update existing book and return updated BookResponseDto")
     void testUpdateBook_Success() {
         Long bookId = 1L;
-        Book existingBook = Book.builder()
-                .id(bookId)
-                .title("Old Title")
-                .author("Old Author")
-                .description("Old Description")
-                .build();
         BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
-        Book updatedBook = Book.builder()
-                .id(bookId)
-                .title("New Title")
-                .author("New Author")
-                .description("New Description")
-                .build();
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(existingBook));
-        when(bookRepository.save(existingBook)).thenReturn(updatedBook);
-        BookResponseDto response = bookService.updateBook(bookId, updateRequest);
+        when(bookRepository.updateById(bookId, "New Title", "New Author", "New Description")).thenReturn(1);
+        when(bookRepository.findVersionById(bookId)).thenReturn(Optional.of(4L));
+        BookResponseDto response = bookService.updateBook(bookId, updateRequest, null);
         assertNotNull(response, "The updated response should not be null");
         assertEquals("New Title", response.title(), "Updated title mismatch");
-        verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, times(1)).save(existingBook);
+        assertEquals(4L, response.version(), "Response should carry the new version");
+        verify(bookRepository, never()).findById(any());
+        verify(bookRepository, never()).save(any());
+        verify(catalogVersion, times(1)).changed();
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.updated(response));
     }
 
     @Test
@@ -76,38 +91,139 @@ class BookServiceImplTest {
     void testUpdateBook_BookNotFound() {
         Long bookId = 100L;
         BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
-        assertThrows(BookNotFoundException.class, () -> bookService.updateBook(bookId, updateRequest),
+        when(bookRepository.updateById(bookId, "New Title", "New Author", "New Description")).thenReturn(0);
+        assertThrows(BookNotFoundException.class, () -> bookService.updateBook(bookId, updateRequest, null),
                 "Expected BookNotFoundException for non-existent book");
-        verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, never()).save(any());
+        verify(bookRepository, never()).findVersionById(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    @DisplayName("deleteBook: Should delete the book successfully")
-    void testDeleteBook_Success() {
+    @DisplayName("updateBook: Should write in one statement when the expected version matches")
+    void testUpdateBook_ExpectedVersion() {
         Long bookId = 1L;
-        Book existingBook = Book.builder()
+        BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
+        when(bookRepository.updateByIdAndVersion(bookId, 3L, "New Title", "New Author", "New Description"))
+                .thenReturn(1);
+        BookResponseDto response = bookService.updateBook(bookId, updateRequest, 3L);
+        assertEquals(4L, response.version(), "Response should carry the next version");
+        verify(bookRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    @DisplayName("updateBook: Should reject the update when the book is no longer at the expected version")
+    void testUpdateBook_VersionMismatch() {
+        Long bookId = 1L;
+        BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
+        when(bookRepository.updateByIdAndVersion(bookId, 2L, "New Title", "New Author", "New Description"))
+                .thenReturn(0);
+        when(bookRepository.findVersionById(bookId)).thenReturn(Optional.of(3L));
+        assertThrows(BookVersionMismatchException.class, () -> bookService.updateBook(bookId, updateRequest, 2L),
+                "Expected BookVersionMismatchException for a stale version");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("updateBook: Should throw BookNotFoundException when a conditional update targets a missing book")
+    void testUpdateBook_ExpectedVersionBookNotFound() {
+        Long bookId = 100L;
+        BookRequestDto updateRequest = new BookRequestDto("New Title", "New Author", "New Description");
+        when(bookRepository.updateByIdAndVersion(bookId, 2L, "New Title", "New Author", "New Description"))
+                .thenReturn(0);
+        when(bookRepository.findVersionById(bookId)).thenReturn(Optional.empty());
+        assertThrows(BookNotFoundException.class, () -> bookService.updateBook(bookId, updateRequest, 2L),
+                "Expected BookNotFoundException for non-existent book");
+    }
+
+    @Test
+    @DisplayName("patchBook: Should update only the supplied fields and return the whole book")
+    void testPatchBook_Success() {
+        Long bookId = 1L;
+        Book patchedBook = Book.builder()
                 .id(bookId)
-                .title("Test Title")
-                .author("Test Author")
-                .description("Test Description")
+                .title("New Title")
+                .author("Old Author")
+                .description("Old Description")
+                .version(2L)
                 .build();
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(existingBook));
+        when(bookRepository.patchById(bookId, "New Title", null, null)).thenReturn(1);
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(patchedBook));
+        BookResponseDto response = bookService.patchBook(bookId, new BookPatchDto("New Title", null, null), null);
+        assertEquals(new BookResponseDto(bookId, "New Title", "Old Author", "Old Description", 2L), response,
+                "Response should reflect the stored book");
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.updated(response));
+    }
+
+    @Test
+    @DisplayName("patchBook: Should reject the patch when the book is no longer at the expected version")
+    void testPatchBook_VersionMismatch() {
+        Long bookId = 1L;
+        when(bookRepository.patchByIdAndVersion(bookId, 2L, "New Title", null, null)).thenReturn(0);
+        when(bookRepository.findVersionById(bookId)).thenReturn(Optional.of(3L));
+        assertThrows(BookVersionMismatchException.class,
+                () -> bookService.patchBook(bookId, new BookPatchDto("New Title", null, null), 2L),
+                "Expected BookVersionMismatchException for a stale version");
+        verify(bookRepository, never()).findById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("patchBook: Should return the stored book without writing when the patch has no fields")
+    void testPatchBook_Empty() {
+        Long bookId = 1L;
+        Book book = Book.builder().id(bookId).title("Title").author("Author").version(2L).build();
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        BookResponseDto response = bookService.patchBook(bookId, new BookPatchDto(null, null, null), 2L);
+        assertEquals(2L, response.version(), "An empty patch should leave the version alone");
+        verify(bookRepository, never()).patchById(any(), any(), any(), any());
+        verify(bookRepository, never()).patchByIdAndVersion(any(), anyLong(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("patchBook: Should reject an empty patch when the book is no longer at the expected version")
+    void testPatchBook_EmptyVersionMismatch() {
+        Long bookId = 1L;
+        Book book = Book.builder().id(bookId).title("Title").author("Author").version(3L).build();
+        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        BookVersionMismatchException e = assertThrows(BookVersionMismatchException.class,
+                () -> bookService.patchBook(bookId, new BookPatchDto(null, null, null), 2L),
+                "Expected BookVersionMismatchException for a stale version");
+        assertEquals("Book 1 is at version 3, not 2", e.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("patchBook: Should throw BookNotFoundException when book does not exist")
+    void testPatchBook_BookNotFound() {
+        Long bookId = 100L;
+        when(bookRepository.patchById(bookId, "New Title", null, null)).thenReturn(0);
+        assertThrows(BookNotFoundException.class,
+                () -> bookService.patchBook(bookId, new BookPatchDto("New Title", null, null), null),
+                "Expected BookNotFoundException for non-existent book");
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("deleteBook: Should delete the book successfully")
+    void testDeleteBook_Success() {
+        Long bookId = 1L;
+        when(bookRepository.removeById(bookId)).thenReturn(1);
         bookService.deleteBook(bookId);
-        verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, times(1)).delete(existingBook);
+        verify(bookRepository, times(1)).removeById(bookId);
+        verify(bookRepository, never()).findById(any());
+        verify(catalogVersion, times(1)).changed();
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.deleted(bookId));
     }
 
     @Test
     @DisplayName("deleteBook: Should throw BookNotFoundException when trying to delete non-existent book")
     void testDeleteBook_BookNotFound() {
         Long bookId = 1L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.removeById(bookId)).thenReturn(0);
         assertThrows(BookNotFoundException.class, () -> bookService.deleteBook(bookId),
                 "Expected BookNotFoundException when book is not found");
-        verify(bookRepository, times(1)).findById(bookId);
-        verify(bookRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -138,14 +254,92 @@ class BookServiceImplTest {
     }
 
     @Test
-    @DisplayName("getAllBooks: Should return list of BookResponseDto")
-    void testGetAllBooks_Success() {
+    @DisplayName("getBooks: Should return the first page without a next cursor when all books fit")
+    void testGetBooks_FirstPage() {
+        Book book1 = Book.builder().id(1L).title("Title1").author("Author1").description("Description1").build();
+        Book book2 = Book.builder().id(2L).title("Title2").author("Author2").description("Description2").build();
+        when(bookRepository.findAllByOrderByIdAsc(Limit.of(11))).thenReturn(List.of(book1, book2));
+        BookPageDto page = bookService.getBooks(null, 10);
+        assertNotNull(page, "The page should not be null");
+        assertEquals(2, page.books().size(), "There should be two books in the page");
+        assertNull(page.nextCursor(), "The last page should not have a next cursor");
+        verify(bookRepository, times(1)).findAllByOrderByIdAsc(Limit.of(11));
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("getBooks: Should return a next cursor that continues after the last book of the page")
+    void testGetBooks_NextCursorRoundTrip() {
+        Book book1 = Book.builder().id(1L).title("Title1").author("Author1").description("Description1").build();
+        Book book2 = Book.builder().id(2L).title("Title2").author("Author2").description("Description2").build();
+        Book book3 = Book.builder().id(3L).title("Title3").author("Author3").description("Description3").build();
+        when(bookRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(book1, book2, book3));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(book3));
+        BookPageDto firstPage = bookService.getBooks(null, 2);
+        assertEquals(List.of(1L, 2L), firstPage.books().stream().map(BookResponseDto::id).toList(),
+                "First page should hold the first two books");
+        assertNotNull(firstPage.nextCursor(), "A next cursor is expected when more books exist");
+        BookPageDto secondPage = bookService.getBooks(firstPage.nextCursor(), 2);
+        assertEquals(List.of(3L), secondPage.books().stream().map(BookResponseDto::id).toList(),
+                "Second page should continue after the cursor");
+        assertNull(secondPage.nextCursor(), "The last page should not have a next cursor");
+    }
+
+    @Test
+    @DisplayName("getBooks: Should clamp the limit to the maximum page size")
+    void testGetBooks_LimitClamped() {
+        when(bookRepository.findAllByOrderByIdAsc(Limit.of(BookServiceImpl.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+        BookPageDto page = bookService.getBooks(null, 10_000);
+        assertTrue(page.books().isEmpty(), "The page should be empty");
+        verify(bookRepository, times(1)).findAllByOrderByIdAsc(Limit.of(BookServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("getBooks: Should throw InvalidCursorException for a malformed cursor")
+    void testGetBooks_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> bookService.getBooks("not-a-cursor!", 10),
+                "Expected InvalidCursorException for a malformed cursor");
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("exportBooks: Should hand every streamed book to the consumer and close the stream")
+    void testExportBooks_StreamsAllBooks() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<BookResponseDto> stream = Stream.of(
+                        new BookResponseDto(1L, "Title1", "Author1", "Description1", 0L),
+                        new BookResponseDto(2L, "Title2", "Author2", "Description2", 0L))
+                .onClose(() -> closed.set(true));
+        when(bookRepository.streamAllForExport()).thenReturn(stream);
+        List<BookResponseDto> exported = new ArrayList<>();
+        bookService.exportBooks(exported::add);
+        assertEquals(List.of(1L, 2L), exported.stream().map(BookResponseDto::id).toList(),
+                "All books should be exported in order");
+        assertTrue(closed.get(), "The repository stream should be closed after the export");
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("searchBooks: Should return indexed hits in rank order with the total hit count")
+    void testSearchBooks_ReturnsRankedPage() {
         Book book1 = Book.builder().id(1L).title("Title1").author("Author1").description("Description1").build();
         Book book2 = Book.builder().id(2L).title("Title2").author("Author2").description("Description2").build();
-        when(bookRepository.findAll()).thenReturn(List.of(book1, book2));
-        List<BookResponseDto> books = bookService.getAllBooks();
-        assertNotNull(books, "The list of books should not be null");
-        assertEquals(2, books.size(), "There should be two books in the list");
-        verify(bookRepository, times(1)).findAll();
+        when(bookSearchIndex.search("java", 20, 20)).thenReturn(new BookSearchIndex.Hits(List.of(2L, 1L), 22));
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(book1, book2));
+        BookSearchResultDto result = bookService.searchBooks("java", 1, 20);
+        assertEquals(List.of(2L, 1L), result.books().stream().map(BookResponseDto::id).toList(),
+                "Books should keep the index ranking");
+        assertEquals(22, result.totalHits(), "Total hits should come from the index");
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("suggestBooks: Should cap the number of suggestions requested from the index")
+    void testSuggestBooks_ClampsLimit() {
+        List<BookSuggestionDto> suggestions = List.of(
+                new BookSuggestionDto("Effective Java", BookSuggestionDto.Field.TITLE, 1));
+        when(bookSuggestIndex.suggest("eff", BookServiceImpl.MAX_SUGGESTIONS)).thenReturn(suggestions);
+        assertEquals(suggestions, bookService.suggestBooks("eff", 1000), "Suggestions should come from the index");
+        verify(bookSuggestIndex, times(1)).suggest("eff", BookServiceImpl.MAX_SUGGESTIONS);
     }
 }
@@ -0,0 +1,163 @@
+package com.vishnu.bookapi.service;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link BookServiceQueryPlanTest} filters against MySQL 8.4 and its default utf8mb4_0900_ai_ci collation,
+ * where title prefixes are matched with LIKE rather than a range. Starts a container, or runs against the server at
+ * {@code -Dmysql.url} (with {@code -Dmysql.username} and {@code -Dmysql.password}) when set; skipped when neither is
+ * available.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=com.mysql.cj.jdbc.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+@EnabledIf("mySqlAvailable")
+class BookServiceMySqlQueryPlanTest {
+
+    private static final String EXTERNAL_URL = System.getProperty("mysql.url");
+
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.4")
+            .withUrlParam("queryInterceptors", RecordingQueryInterceptor.class.getName());
+
+    /** Access types that read a bounded part of an index rather than all of it. */
+    private static final Set<String> INDEX_LOOKUPS = Set.of("const", "eq_ref", "ref", "range");
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static boolean mySqlAvailable() {
+        return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL + (EXTERNAL_URL.contains("?") ? "&" : "?")
+                    + "queryInterceptors=" + RecordingQueryInterceptor.class.getName());
+            registry.add("spring.datasource.username", () -> System.getProperty("mysql.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("mysql.password", ""));
+        } else {
+            // Stopped with the JVM
+            MYSQL.start();
+            registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+            registry.add("spring.datasource.username", MYSQL::getUsername);
+            registry.add("spring.datasource.password", MYSQL::getPassword);
+        }
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    /**
+     * Records the SQL Connector/J sends, with the parameters of client-side prepared statements already bound, so it
+     * can be explained as is.
+     */
+    public static class RecordingQueryInterceptor implements QueryInterceptor {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        public RecordingQueryInterceptor() {
+        }
+
+        @Override
+        public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+            return this;
+        }
+
+        @Override
+        public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+            STATEMENTS.add(sql.get());
+            return null;
+        }
+
+        @Override
+        public boolean executeTopLevelOnly() {
+            return true;
+        }
+
+        @Override
+        public void destroy() {
+        }
+
+        @Override
+        public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                                   ServerSession serverSession) {
+            return null;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        BookServiceQueryPlanTest.saveBooks(bookRepository, jdbcTemplate);
+    }
+
+    @ParameterizedTest(name = "author={0}, titlePrefix={1}, sort={2}")
+    @MethodSource("com.vishnu.bookapi.service.BookServiceQueryPlanTest#supportedFilters")
+    @DisplayName("findBooks: Should answer every supported filter, and the pages after it, from an index on MySQL")
+    void testFindBooks_FiltersUseIndexes(String author, String titlePrefix, String sort) {
+        for (String sql : BookServiceQueryPlanTest.pageQueries(bookService, author, titlePrefix, sort,
+                RecordingQueryInterceptor.STATEMENTS)) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+            assertEquals(1, plan.size(), "Expected a single table access for " + sql + "\n" + plan);
+            Map<String, Object> books = plan.get(0);
+            assertTrue(INDEX_LOOKUPS.contains(String.valueOf(books.get("type"))),
+                    "Full scan of books for " + sql + "\n" + plan);
+            assertTrue(String.valueOf(books.get("key")).startsWith("idx_books_"),
+                    "Expected a books index for " + sql + "\n" + plan);
+        }
+    }
+
+    @Test
+    @DisplayName("findBooks: Should match title prefixes ending in z under the accent-insensitive collation")
+    void testFindBooks_TitlePrefixEndingInZ() {
+        // An external server keeps the rows of earlier runs
+        jdbcTemplate.update("delete from books where title like 'MySQL Ja%'");
+        List<Book> saved = bookRepository.saveAll(List.of(
+                Book.builder().title("MySQL Jazzy").build(),
+                Book.builder().title("MySQL Jaz").build(),
+                Book.builder().title("MySQL Jazz").build()));
+
+        List<Long> ids = bookService.findBooks(null, "MySQL Jazz", null, null, 10).books().stream()
+                .map(BookResponseDto::id)
+                .toList();
+
+        assertEquals(List.of(saved.get(2).getId(), saved.get(0).getId()), ids);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.repository.BookRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains the statements Hibernate actually sends for each supported filter on H2 and fails when one of them reads
+ * the whole books table instead of an index. {@link BookServiceMySqlQueryPlanTest} does the same on MySQL.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.vishnu.bookapi.service.BookServiceQueryPlanTest$RecordingStatementInspector")
+class BookServiceQueryPlanTest {
+
+    private static final String TITLE = "Plan Title ";
+    private static final int BOOKS = 2000;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        public RecordingStatementInspector() {
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        saveBooks(bookRepository, jdbcTemplate);
+    }
+
+    static Stream<Arguments> supportedFilters() {
+        return Stream.of(
+                Arguments.of("Plan Author 7", null, null),
+                Arguments.of("Plan Author 7", null, "title"),
+                Arguments.of("Plan Author 7", null, "title,desc"),
+                Arguments.of("Plan Author 7", null, "author"),
+                Arguments.of(null, "Plan Title 012", null),
+                Arguments.of(null, "Plan Title 012", "title"),
+                Arguments.of(null, "Plan Title 012", "title,desc"),
+                Arguments.of(null, "Plan Title 012", "author,desc"),
+                Arguments.of("Plan Author 112", "Plan Title 1", "title"),
+                Arguments.of("Plan Author 112", "Plan Title 1", null));
+    }
+
+    /**
+     * 2000 books over 200 authors, every tenth without one, unless an earlier test already saved them.
+     */
+    static void saveBooks(BookRepository bookRepository, JdbcTemplate jdbcTemplate) {
+        if (bookRepository.findBy((root, query, cb) -> cb.like(root.get("title"), TITLE + "%"),
+                query -> query.limit(1).all()).isEmpty()) {
+            bookRepository.saveAll(IntStream.range(0, BOOKS)
+                    .mapToObj(i -> Book.builder()
+                            .title(TITLE + String.format("%04d", i))
+                            .author(i % 10 == 0 ? null : "Plan Author " + (i % 200))
+                            .build())
+                    .toList());
+            // Row counts and selectivity let the planner cost the indexes against a table scan
+            jdbcTemplate.execute("ANALYZE TABLE books");
+        }
+    }
+
+    /**
+     * Fetches the first two pages of a filtered listing and returns the SQL sent for them.
+     */
+    static List<String> pageQueries(BookService bookService, String author, String titlePrefix, String sort,
+                                    List<String> statements) {
+        statements.clear();
+        BookSort bookSort = BookSort.parse(sort);
+        BookPageDto firstPage = bookService.findBooks(author, titlePrefix, bookSort, null, 2);
+        assertNotNull(firstPage.nextCursor(), "The filter should match more than one page");
+        bookService.findBooks(author, titlePrefix, bookSort, firstPage.nextCursor(), 2);
+        List<String> queries = statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).matches("select .* from books .*"))
+                .toList();
+        assertEquals(2, queries.size(), "Each page should be a single query");
+        return queries;
+    }
+
+    @ParameterizedTest(name = "author={0}, titlePrefix={1}, sort={2}")
+    @MethodSource("supportedFilters")
+    @DisplayName("findBooks: Should answer every supported filter, and the pages after it, from an index")
+    void testFindBooks_FiltersUseIndexes(String author, String titlePrefix, String sort) {
+        for (String sql : pageQueries(bookService, author, titlePrefix, sort, RecordingStatementInspector.STATEMENTS)) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plan.contains("tableScan"), "Full scan of books for " + sql + "\n" + plan);
+            assertTrue(plan.contains("IDX_BOOKS_"), "Expected a books index for " + sql + "\n" + plan);
+        }
+    }
+}
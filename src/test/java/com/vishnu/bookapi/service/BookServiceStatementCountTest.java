@@ -0,0 +1,76 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookPatchDto;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.entity.Book;
+import com.vishnu.bookapi.exception.BookNotFoundException;
+import com.vishnu.bookapi.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookServiceStatementCountTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("updateBook: Should write a book in one statement, plus a version read-back when unconditional")
+    void testUpdateBook_StatementCount() {
+        Long id = bookRepository.save(Book.builder().title("Before").author("Author").build()).getId();
+        statistics.clear();
+        bookService.updateBook(id, new BookRequestDto("After", "Author", null), 0L);
+        assertEquals(1, statistics.getPrepareStatementCount(), "Conditional update should be a single UPDATE");
+        statistics.clear();
+        bookService.updateBook(id, new BookRequestDto("After again", "Author", null), null);
+        assertEquals(2, statistics.getPrepareStatementCount(), "Unconditional update should be UPDATE + version read");
+        assertEquals(1, statistics.getTransactionCount(), "Update should run in one transaction");
+        assertEquals(2L, bookRepository.findById(id).orElseThrow().getVersion(), "Each update should bump the version");
+    }
+
+    @Test
+    @DisplayName("patchBook/deleteBook: Should not load the book before writing it")
+    void testPatchAndDelete_StatementCount() {
+        Long id = bookRepository.save(Book.builder().title("Before").author("Author").description("Kept").build())
+                .getId();
+        statistics.clear();
+        assertEquals("Kept", bookService.patchBook(id, new BookPatchDto("After", null, null), null).description(),
+                "Fields missing from the patch should be kept");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Patch should be UPDATE + read-back");
+        statistics.clear();
+        bookService.deleteBook(id);
+        assertEquals(1, statistics.getPrepareStatementCount(), "Delete should be a single DELETE");
+        assertThrows(BookNotFoundException.class, () -> bookService.deleteBook(id),
+                "Deleting again should report the missing book");
+    }
+}
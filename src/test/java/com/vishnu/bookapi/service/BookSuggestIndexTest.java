@@ -0,0 +1,65 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.dto.BookSuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSuggestIndexTest {
+
+    private BookSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSuggestIndex(null, null);
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(1L, "Effective Java", "Joshua Bloch", "Best practices", 0L)));
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(2L, "Effective Modern C++", "Scott Meyers", "Modern C++", 0L)));
+        index.onBookChanged(BookChangedEvent.created(
+                new BookResponseDto(3L, "Java Puzzlers", "Joshua Bloch", "Traps and pitfalls", 0L)));
+    }
+
+    @Test
+    @DisplayName("suggest: Should return titles and authors starting with the prefix in alphabetical order")
+    void testSuggest_AlphabeticalPrefixMatches() {
+        assertEquals(List.of("Effective Java", "Effective Modern C++"), texts(index.suggest("effec", 10)));
+        assertEquals(List.of(new BookSuggestionDto("Joshua Bloch", BookSuggestionDto.Field.AUTHOR, 2)),
+                index.suggest("josh", 10), "Books by the same author should share one suggestion");
+    }
+
+    @Test
+    @DisplayName("suggest: Should ignore case, accents and punctuation in the prefix")
+    void testSuggest_NormalizesPrefix() {
+        assertEquals(List.of("Effective Modern C++"), texts(index.suggest("ÉFFECTIVE   modern-c", 10)));
+        assertTrue(index.suggest("  ", 10).isEmpty(), "A blank prefix should not suggest anything");
+    }
+
+    @Test
+    @DisplayName("suggest: Should stop at the limit")
+    void testSuggest_Limit() {
+        assertEquals(List.of("Effective Java"), texts(index.suggest("e", 1)));
+    }
+
+    @Test
+    @DisplayName("onBookChanged: Should replace updated titles and release keys no book uses any more")
+    void testOnBookChanged_UpdatesAndDeletes() {
+        index.onBookChanged(BookChangedEvent.updated(
+                new BookResponseDto(1L, "Effective Kotlin", "Joshua Bloch", "Best practices", 0L)));
+        assertEquals(List.of("Effective Kotlin", "Effective Modern C++"), texts(index.suggest("effective", 10)));
+        index.onBookChanged(BookChangedEvent.deleted(3L));
+        assertEquals(1, index.suggest("joshua", 10).getFirst().books(), "Author count should drop with the book");
+        index.onBookChanged(BookChangedEvent.deleted(1L));
+        assertTrue(index.suggest("joshua", 10).isEmpty(), "Unused authors should be removed");
+        assertEquals(2, index.size(), "Only the remaining book's title and author should be indexed");
+    }
+
+    private static List<String> texts(List<BookSuggestionDto> suggestions) {
+        return suggestions.stream().map(BookSuggestionDto::text).toList();
+    }
+}
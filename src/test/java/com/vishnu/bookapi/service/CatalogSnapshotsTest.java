@@ -0,0 +1,103 @@
+package com.vishnu.bookapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vishnu.bookapi.dto.BookPageDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotsTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    private CatalogSnapshots catalogSnapshots;
+    private final BookPageDto page = new BookPageDto(
+            List.of(new BookResponseDto(1L, "Effective Java", "Joshua Bloch", "Best practices", 0L)), null);
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshots = new CatalogSnapshots(bookService, catalogVersion, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogSnapshots.shutdown();
+    }
+
+    @Test
+    @DisplayName("firstPage: Should serve the same bytes without querying again while the version is unchanged")
+    void testFirstPage_ReusedWhileCurrent() throws IOException {
+        when(catalogVersion.current()).thenReturn("e-1");
+        when(bookService.getBooks(null, 20)).thenReturn(page);
+        CatalogSnapshots.Snapshot first = catalogSnapshots.firstPage(20);
+        CatalogSnapshots.Snapshot second = catalogSnapshots.firstPage(20);
+        assertSame(first, second, "Second request should get the stored snapshot");
+        assertEquals("e-1", first.version(), "Snapshot should carry the version it was read at");
+        assertTrue(new String(first.json()).contains("\"title\":\"Effective Java\""), "JSON should contain the page");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertArrayEquals(first.json(), gzip.readAllBytes(), "Gzip bytes should decompress to the JSON bytes");
+        }
+        verify(bookService, times(1)).getBooks(null, 20);
+    }
+
+    @Test
+    @DisplayName("onCatalogChanged: Should rebuild stored snapshots in the background at the new version")
+    void testOnCatalogChanged_RebuildsInBackground() throws InterruptedException {
+        when(catalogVersion.current()).thenReturn("e-1");
+        when(bookService.getBooks(null, 20)).thenReturn(page);
+        catalogSnapshots.firstPage(20);
+        when(catalogVersion.current()).thenReturn("e-2");
+        catalogSnapshots.onCatalogChanged(new CatalogChangedEvent("e-2"));
+        for (int i = 0; i < 250 && !catalogSnapshots.stored(20).version().equals("e-2"); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals("e-2", catalogSnapshots.firstPage(20).version(), "Snapshot should be at the new version");
+        verify(bookService, times(2)).getBooks(null, 20);
+    }
+
+    @Test
+    @DisplayName("onCatalogChanged: Should coalesce a burst of changes into at most one follow-up rebuild")
+    void testOnCatalogChanged_CoalescesBursts() throws InterruptedException {
+        when(catalogVersion.current()).thenReturn("e-1");
+        when(bookService.getBooks(null, 20)).thenReturn(page);
+        catalogSnapshots.firstPage(20);
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getBooks(null, 20)).thenAnswer(invocation -> {
+            rebuildStarted.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS), "Test should release the rebuild");
+            return page;
+        });
+        catalogSnapshots.onCatalogChanged(new CatalogChangedEvent("e-2"));
+        assertTrue(rebuildStarted.await(5, TimeUnit.SECONDS), "Rebuild should start");
+        for (int i = 3; i <= 50; i++) {
+            catalogSnapshots.onCatalogChanged(new CatalogChangedEvent("e-" + i));
+        }
+        release.countDown();
+        // Initial build, the running rebuild and one follow-up for the 48 changes that arrived meanwhile
+        verify(bookService, timeout(5_000).times(3)).getBooks(null, 20);
+        Thread.sleep(200);
+        verify(bookService, times(3)).getBooks(null, 20);
+    }
+}
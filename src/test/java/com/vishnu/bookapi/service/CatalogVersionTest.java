@@ -0,0 +1,83 @@
+package com.vishnu.bookapi.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two {@link CatalogVersion} instances on one in-memory H2 database stand in for two application instances.
+ */
+class CatalogVersionTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:catalog-version;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table catalog_state (id bigint primary key, version bigint not null)");
+        jdbcTemplate.update("insert into catalog_state (id, version) values (1, 0)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table catalog_state");
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("changed: Should move the version once per committed transaction and publish it after commit")
+    void testChanged_OncePerCommittedTransaction() {
+        CatalogVersion catalogVersion = catalogVersion(Duration.ofHours(1));
+        assertEquals("0", catalogVersion.current());
+        transactionTemplate.executeWithoutResult(status -> {
+            catalogVersion.changed();
+            catalogVersion.changed();
+            verifyNoInteractions(eventPublisher);
+        });
+        assertEquals("1", catalogVersion.current(), "A writing instance should see its own change at once");
+        verify(eventPublisher).publishEvent(new CatalogChangedEvent("1"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            catalogVersion.changed();
+            status.setRollbackOnly();
+        });
+        assertEquals("1", catalogVersion.current(), "A rolled back transaction should not move the version");
+        assertEquals(1L, jdbcTemplate.queryForObject("select version from catalog_state", Long.class));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("current: Should see another instance's change once max-staleness has passed")
+    void testCurrent_SeesOtherInstances() {
+        CatalogVersion cached = catalogVersion(Duration.ofHours(1));
+        CatalogVersion uncached = catalogVersion(Duration.ZERO);
+        assertEquals("0", cached.current());
+        assertEquals("0", uncached.current());
+
+        transactionTemplate.executeWithoutResult(status -> catalogVersion(Duration.ofHours(1)).changed());
+        assertEquals("0", cached.current(), "Within max-staleness the last version read is kept");
+        assertEquals("1", uncached.current(), "Past max-staleness the row is read again");
+        verify(eventPublisher).publishEvent(new CatalogChangedEvent("1"));
+    }
+
+    private CatalogVersion catalogVersion(Duration maxStaleness) {
+        return new CatalogVersion(jdbcTemplate, dataSource, eventPublisher, maxStaleness);
+    }
+}
@@ -0,0 +1,58 @@
+package com.vishnu.bookapi.service;
+
+import com.vishnu.bookapi.exception.BookImportException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvBookRowReaderTest {
+
+    @Test
+    @DisplayName("next: Should map columns by header name and skip blank lines")
+    void testNext_MapsColumnsByHeader() throws IOException {
+        CsvBookRowReader reader = new CsvBookRowReader(new StringReader(
+                "author,description,title\r\nJoshua Bloch,Best practices,Effective Java\r\n\r\nBrian Goetz,,Concurrency\r\n"));
+        BookRowReader.BookRow first = reader.next();
+        assertEquals(1, first.number(), "Rows should be numbered from 1 after the header");
+        assertEquals("Effective Java", first.book().title(), "Title should come from the title column");
+        assertEquals("Joshua Bloch", first.book().author(), "Author should come from the author column");
+        assertEquals("Best practices", first.book().description(), "Description should come from its column");
+        BookRowReader.BookRow second = reader.next();
+        assertEquals(2, second.number(), "Blank lines should not be counted as rows");
+        assertNull(second.book().description(), "Empty fields should be read as null");
+        assertNull(reader.next(), "Reader should be exhausted");
+    }
+
+    @Test
+    @DisplayName("next: Should handle quoted fields with commas, escaped quotes and line breaks")
+    void testNext_QuotedFields() throws IOException {
+        CsvBookRowReader reader = new CsvBookRowReader(new StringReader(
+                "title,author,description\n\"Clean Code, 2nd\",\"Robert \"\"Uncle Bob\"\" Martin\",\"Line one\nLine two\"\n"));
+        BookRowReader.BookRow row = reader.next();
+        assertEquals("Clean Code, 2nd", row.book().title(), "Commas inside quotes belong to the field");
+        assertEquals("Robert \"Uncle Bob\" Martin", row.book().author(), "Doubled quotes should be unescaped");
+        assertEquals("Line one\nLine two", row.book().description(), "Line breaks inside quotes belong to the field");
+        assertNull(reader.next(), "Reader should be exhausted");
+    }
+
+    @Test
+    @DisplayName("next: Should report an unterminated quoted field as a malformed row")
+    void testNext_UnterminatedQuote() throws IOException {
+        CsvBookRowReader reader = new CsvBookRowReader(new StringReader("title,author\n\"Broken,Author\n"));
+        BookRowReader.BookRow row = reader.next();
+        assertNull(row.book(), "Malformed rows should not carry a book");
+        assertEquals("Unterminated quoted field", row.error(), "Error should describe the problem");
+    }
+
+    @Test
+    @DisplayName("next: Should throw BookImportException when the header lacks required columns")
+    void testNext_MissingHeaderColumns() {
+        CsvBookRowReader reader = new CsvBookRowReader(new StringReader("name,writer\nA,B\n"));
+        assertThrows(BookImportException.class, reader::next,
+                "Expected BookImportException for a header without title and author");
+    }
+}
@@ -0,0 +1,59 @@
+package com.vishnu.bookapi.tracing;
+
+import com.vishnu.bookapi.dto.RequestTraceDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTraceTest {
+
+    @AfterEach
+    void detach() {
+        RequestTrace current = RequestTrace.current();
+        if (current != null) {
+            current.finish();
+        }
+    }
+
+    @Test
+    @DisplayName("record: Should add up spans of the same kind and ignore threads without a trace")
+    void testRecord_AccumulatesSpans() {
+        RequestTrace.record(RequestTrace.Span.DB, 1_000_000);
+        RequestTrace trace = RequestTrace.begin();
+        RequestTrace.record(RequestTrace.Span.DB, 1_500_000);
+        RequestTrace.record(RequestTrace.Span.DB, 250_000);
+        RequestTrace.record(RequestTrace.Span.JWT, 21_000);
+        assertEquals(1_750_000, trace.duration(RequestTrace.Span.DB), "DB time should be the sum of both calls");
+        assertEquals(2, trace.count(RequestTrace.Span.DB), "Both DB calls should be counted");
+        assertEquals(0, trace.count(RequestTrace.Span.USER), "Unrecorded spans should stay empty");
+    }
+
+    @Test
+    @DisplayName("serverTiming: Should list recorded spans in milliseconds with call counts and end with app")
+    void testServerTiming_Format() {
+        RequestTrace trace = RequestTrace.begin();
+        trace.add(RequestTrace.Span.JWT, 21_000);
+        trace.add(RequestTrace.Span.DB, 1_500_000);
+        trace.add(RequestTrace.Span.DB, 10_250_000);
+        String header = trace.serverTiming();
+        assertTrue(header.startsWith("jwt;dur=0.021, db;dur=11.750;desc=\"2 calls\", app;dur="),
+                "Unexpected header: " + header);
+    }
+
+    @Test
+    @DisplayName("finish: Should detach the trace and close the write span")
+    void testFinish_DetachesAndRecordsWrite() {
+        RequestTrace trace = RequestTrace.begin();
+        trace.writeStarted();
+        trace.finish();
+        assertNull(RequestTrace.current(), "Trace should no longer be bound to the thread");
+        assertEquals(1, trace.count(RequestTrace.Span.WRITE), "Write span should be recorded");
+        List<RequestTraceDto.SpanTiming> spans = trace.toDto("GET", "/api/books/1", 200).spans();
+        assertEquals("write", spans.getFirst().name(), "Only the write span should be reported");
+        assertTrue(trace.totalNanos() >= trace.duration(RequestTrace.Span.WRITE), "Total should include the write");
+    }
+}
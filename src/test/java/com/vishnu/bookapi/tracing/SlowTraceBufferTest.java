@@ -0,0 +1,45 @@
+package com.vishnu.bookapi.tracing;
+
+import com.vishnu.bookapi.dto.RequestTraceDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowTraceBufferTest {
+
+    @Test
+    @DisplayName("offer: Should keep only the slowest traces, slowest first")
+    void testOffer_KeepsSlowest() {
+        SlowTraceBuffer buffer = new SlowTraceBuffer(3);
+        for (int millis : new int[]{5, 40, 1, 12, 30, 2}) {
+            buffer.offer(traceTaking(millis), "GET", "/api/books/" + millis, 200);
+        }
+        List<String> paths = buffer.slowest().stream().map(RequestTraceDto::path).toList();
+        assertEquals(List.of("/api/books/40", "/api/books/30", "/api/books/12"), paths,
+                "The three slowest requests should be kept in descending order");
+    }
+
+    @Test
+    @DisplayName("clear: Should drop kept traces and admit fast requests again")
+    void testClear_ResetsThreshold() {
+        SlowTraceBuffer buffer = new SlowTraceBuffer(1);
+        buffer.offer(traceTaking(50), "GET", "/slow", 200);
+        buffer.offer(traceTaking(1), "GET", "/fast", 200);
+        assertEquals("/slow", buffer.slowest().getFirst().path(), "Faster request should not replace the slower one");
+        buffer.clear();
+        assertTrue(buffer.slowest().isEmpty(), "Buffer should be empty after clear");
+        buffer.offer(traceTaking(1), "GET", "/fast", 200);
+        assertEquals("/fast", buffer.slowest().getFirst().path(), "Any request should be admitted after clear");
+    }
+
+    private static RequestTrace traceTaking(int millis) {
+        RequestTrace trace = RequestTrace.begin();
+        trace.finish();
+        ReflectionTestUtils.setField(trace, "totalNanos", millis * 1_000_000L);
+        return trace;
+    }
+}
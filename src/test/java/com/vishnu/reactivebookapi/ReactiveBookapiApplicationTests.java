@@ -0,0 +1,85 @@
+package com.vishnu.reactivebookapi;
+
+import com.vishnu.bookapi.BookApiContractTests;
+import com.vishnu.bookapi.dto.BookRequestDto;
+import com.vishnu.bookapi.dto.BookResponseDto;
+import com.vishnu.bookapi.security.JwtUtil;
+import com.vishnu.bookapi.security.VerifiedToken;
+import com.vishnu.reactivebookapi.entity.RevokedTokenRow;
+import com.vishnu.reactivebookapi.repository.ReactiveBookRepository;
+import com.vishnu.reactivebookapi.security.ReactiveTokenRevocationList;
+import com.vishnu.reactivebookapi.service.ReactiveBookService;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+
+/**
+ * Runs {@link BookApiContractTests} against the reactive application.
+ */
+@SpringBootTest(classes = ReactiveBookapiApplication.class)
+@AutoConfigureWebTestClient
+@ActiveProfiles(ReactiveBookapiApplication.PROFILE)
+@DisplayName("Integration Tests for the reactive Book API")
+class ReactiveBookapiApplicationTests extends BookApiContractTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveBookRepository bookRepository;
+
+    @Autowired
+    private ReactiveBookService bookService;
+
+    @Autowired
+    private ReactiveTokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void setUpDynamicProperties(DynamicPropertyRegistry registry) {
+        registry.add("ADMIN_PASSWORD", () -> "adminpass");
+        registry.add("USER_PASSWORD", () -> "userpass");
+        registry.add("JWT_SECRET", () -> "a8F3zX9qP1mLb6YwT4VkN2rJ7dCgQ0MH");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:h2:mem:///reactive-bookdb;DB_CLOSE_DELAY=-1");
+    }
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllBooks() {
+        bookRepository.deleteAll().block();
+    }
+
+    @Override
+    protected BookResponseDto saveBook(String title, String author, String description) {
+        return bookService.addBook(new BookRequestDto(title, author, description)).block();
+    }
+
+    /**
+     * Stores the revocation the way the servlet application does and reloads the list instead of waiting for the
+     * next refresh.
+     */
+    @Override
+    protected void revoke(String jwt) {
+        VerifiedToken token = jwtUtil.parseToken(jwt);
+        entityTemplate.insert(new RevokedTokenRow(token.id(), token.username(), token.expiresAt(), Instant.now()))
+                .then(tokenRevocationList.refresh())
+                .block();
+    }
+}